@@ -0,0 +1,87 @@
+package com.transportation;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmarks of the MST engines over seeded {@link GraphGenerator} graphs.
+ * Graphs are generated and converted to CSR once per trial, so only the engines are measured.
+ *
+ * Run with {@code mvn -Pjmh package && java -jar target/benchmarks.jar -prof gc},
+ * or through {@link #main}, which enables the GC profiler. Add the {@code vector} profile and
+ * {@code -jvmArgsAppend --add-modules=jdk.incubator.vector} to benchmark the SIMD dense Prim.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class MSTEngineBenchmark {
+
+    @Param({"100", "1000", "3000"})
+    private int vertices;
+
+    @Param({"0.05", "0.2", "0.3"})
+    private double density;
+
+    @Param({"prim", "dense-prim", "kruskal", "filter-kruskal", "boruvka"})
+    private String engine;
+
+    private CompactGraph graph;
+    private PrimMST prim;
+    private DensePrimMST densePrim;
+    private KruskalMST kruskal;
+    private FilterKruskalMST filterKruskal;
+    private BoruvkaMST boruvka;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GraphInput input = GraphGenerator.generateGraph(1, vertices, density, 42L);
+        CompactGraph.Builder builder = new CompactGraph.Builder(input.getNodes().size(), input.getEdges().size());
+        for (String node : input.getNodes()) {
+            builder.addVertex(node);
+        }
+        for (EdgeInput edge : input.getEdges()) {
+            builder.addEdge(edge.getFrom(), edge.getTo(), edge.getWeight());
+        }
+        graph = builder.build();
+
+        prim = new PrimMST();
+        densePrim = new DensePrimMST();
+        kruskal = new KruskalMST();
+        filterKruskal = new FilterKruskalMST();
+        boruvka = new BoruvkaMST();
+    }
+
+    @Benchmark
+    public MSTResult findMST() {
+        switch (engine) {
+            case "prim":
+                return prim.findMST(graph);
+            case "dense-prim":
+                return densePrim.findMST(graph);
+            case "kruskal":
+                return kruskal.findMST(graph);
+            case "filter-kruskal":
+                return filterKruskal.findMST(graph);
+            case "boruvka":
+                return boruvka.findMST(graph);
+            default:
+                throw new IllegalArgumentException("Unknown engine: " + engine);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MSTEngineBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,82 @@
+package com.transportation;
+
+/**
+ * Outcome of analyzing one graph, either with both MST engines or, in fastest mode,
+ * with the single engine chosen by an {@link EnginePlanner}.
+ * A failed analysis carries null engine results.
+ */
+public class AnalysisResult {
+    private final int graphId;
+    private final int vertexCount;
+    private final long edgeCount;
+    private final MSTResult primResult;
+    private final MSTResult kruskalResult;
+    private final CountingProbe primProbe;
+    private final CountingProbe kruskalProbe;
+    private final EnginePlanner.Plan plan;
+    private final MSTResult plannedResult;
+    private final CountingProbe plannedProbe;
+
+    public AnalysisResult(int graphId, int vertexCount, long edgeCount,
+                          MSTResult primResult, MSTResult kruskalResult) {
+        this(graphId, vertexCount, edgeCount, primResult, kruskalResult, null, null);
+    }
+
+    /**
+     * @param primProbe event counts of the Prim run, or null when instrumentation is off
+     * @param kruskalProbe event counts of the Kruskal run, or null when instrumentation is off
+     */
+    public AnalysisResult(int graphId, int vertexCount, long edgeCount,
+                          MSTResult primResult, MSTResult kruskalResult,
+                          CountingProbe primProbe, CountingProbe kruskalProbe) {
+        this.graphId = graphId;
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.primResult = primResult;
+        this.kruskalResult = kruskalResult;
+        this.primProbe = primProbe;
+        this.kruskalProbe = kruskalProbe;
+        this.plan = null;
+        this.plannedResult = null;
+        this.plannedProbe = null;
+    }
+
+    /**
+     * Result of fastest mode
+     * @param plan the planner's choice of engine
+     * @param plannedResult result of the chosen engine, or null if it failed
+     * @param plannedProbe event counts of the run, or null when instrumentation is off
+     */
+    public AnalysisResult(int graphId, int vertexCount, long edgeCount,
+                          EnginePlanner.Plan plan, MSTResult plannedResult, CountingProbe plannedProbe) {
+        this.graphId = graphId;
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.primResult = null;
+        this.kruskalResult = null;
+        this.primProbe = null;
+        this.kruskalProbe = null;
+        this.plan = plan;
+        this.plannedResult = plannedResult;
+        this.plannedProbe = plannedProbe;
+    }
+
+    public boolean isSuccessful() {
+        if (plan != null) {
+            return plannedResult != null;
+        }
+        return primResult != null && kruskalResult != null;
+    }
+
+    // Getters
+    public int getGraphId() { return graphId; }
+    public int getVertexCount() { return vertexCount; }
+    public long getEdgeCount() { return edgeCount; }
+    public MSTResult getPrimResult() { return primResult; }
+    public MSTResult getKruskalResult() { return kruskalResult; }
+    public CountingProbe getPrimProbe() { return primProbe; }
+    public CountingProbe getKruskalProbe() { return kruskalProbe; }
+    public EnginePlanner.Plan getPlan() { return plan; }
+    public MSTResult getPlannedResult() { return plannedResult; }
+    public CountingProbe getPlannedProbe() { return plannedProbe; }
+}
@@ -0,0 +1,50 @@
+package com.transportation;
+
+/**
+ * {@link EdgeList} backed by parallel int arrays on the Java heap.
+ */
+public final class ArrayEdgeList implements EdgeList {
+    private final String[] names;
+    private final int[] from;
+    private final int[] to;
+    private final int[] weight;
+    private final int edgeCount;
+
+    public ArrayEdgeList(String[] names, int[] from, int[] to, int[] weight, int edgeCount) {
+        this.names = names;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+        this.edgeCount = edgeCount;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return names.length;
+    }
+
+    @Override
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public String getVertexName(int vertex) {
+        return names[vertex];
+    }
+
+    @Override
+    public int from(long edge) {
+        return from[(int) edge];
+    }
+
+    @Override
+    public int to(long edge) {
+        return to[(int) edge];
+    }
+
+    @Override
+    public int weight(long edge) {
+        return weight[(int) edge];
+    }
+}
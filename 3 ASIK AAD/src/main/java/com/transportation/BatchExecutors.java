@@ -0,0 +1,79 @@
+package com.transportation;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory methods for the executors used by the concurrent batch mode of {@link MSTAnalyzer}.
+ */
+public final class BatchExecutors {
+    /** Queued work ordered largest first; tasks without a size keep no particular order. */
+    private static final Comparator<Runnable> LARGEST_FIRST = (a, b) ->
+            Long.compare(sizeOf(b), sizeOf(a));
+
+    private BatchExecutors() {}
+
+    /**
+     * Creates a fixed pool of daemon platform threads. Queued tasks wrapped with
+     * {@link #prioritized(long, Runnable)} are started largest first.
+     * @param threads number of worker threads
+     * @return the executor; the caller is responsible for shutting it down
+     */
+    public static ExecutorService platformThreads(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "mst-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        int size = Math.max(1, threads);
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(64, LARGEST_FIRST), factory);
+    }
+
+    /**
+     * Tags a task with an estimated amount of work for largest-first scheduling.
+     * The task must be handed to {@link ExecutorService#execute(Runnable)}; {@code submit}
+     * wraps it and loses the size.
+     */
+    public static Runnable prioritized(long size, Runnable task) {
+        return new SizedTask(size, task);
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor when the running JVM supports it
+     * (Java 21+). On older runtimes falls back to one platform thread per core.
+     * @return the executor; the caller is responsible for shutting it down
+     */
+    public static ExecutorService virtualThreads() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            System.out.println("Info: Virtual threads are not available on Java " +
+                    System.getProperty("java.version") + ", using platform threads.");
+            return platformThreads(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    private static long sizeOf(Runnable task) {
+        return task instanceof SizedTask ? ((SizedTask) task).size : 0;
+    }
+
+    private static class SizedTask implements Runnable {
+        private final long size;
+        private final Runnable task;
+
+        SizedTask(long size, Runnable task) {
+            this.size = size;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.transportation;
+
+import java.io.*;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Layout of the compact binary graph file and the JSON-to-binary converter.
+ * All numbers are little-endian.
+ * <pre>
+ * file header   : magic "MSTG" (int), version (int), graph count (int), reserved (int)
+ * graph section : id (int), vertex count (int), edge count (long), name table bytes (long)
+ *                 name table: per vertex a byte length (int) and UTF-8 bytes, zero-padded to 4 bytes
+ *                 edge records: per edge from (int), to (int), weight (int)
+ * </pre>
+ * Edge records are fixed-width, so {@link BinaryGraphReader} maps them with
+ * {@link java.nio.channels.FileChannel#map} and the engines read them in place.
+ */
+public final class BinaryGraphFormat {
+    static final int MAGIC = 0x4754534D; // "MSTG" in little-endian byte order
+    static final int VERSION = 1;
+    static final int FILE_HEADER_BYTES = 16;
+    static final int GRAPH_HEADER_BYTES = 24;
+    static final int EDGE_RECORD_BYTES = 12;
+
+    private BinaryGraphFormat() {}
+
+    /**
+     * Translates an {@link InputData} JSON file into the binary format, one
+     * {@link GraphInput} at a time
+     * @param jsonFile the JSON input
+     * @param binaryFile the binary output
+     * @return the number of converted graphs
+     */
+    public static int convertJson(File jsonFile, File binaryFile) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        try (JsonParser parser = objectMapper.getFactory().createParser(jsonFile);
+             BinaryGraphWriter writer = new BinaryGraphWriter(binaryFile)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object in " + jsonFile);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("graphs".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        writer.writeGraph(objectMapper.readValue(parser, GraphInput.class));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return writer.getGraphCount();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.transportation;
+
+import java.io.*;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads graph sections of a binary graph file (see {@link BinaryGraphFormat}) through
+ * {@link FileChannel#map}. Only the vertex names are decoded; edge records stay in the
+ * page cache and are accessed in place through {@link MappedGraph}.
+ * Mappings remain valid after the reader is closed.
+ */
+public class BinaryGraphReader implements Closeable {
+    private final FileChannel channel;
+    private final int graphCount;
+    private int graphsRead;
+    private long position;
+
+    public BinaryGraphReader(File file) throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        if (channel.size() < BinaryGraphFormat.FILE_HEADER_BYTES) {
+            channel.close();
+            throw new IOException("Not a binary graph file: " + file);
+        }
+        MappedByteBuffer header = map(0, BinaryGraphFormat.FILE_HEADER_BYTES);
+        if (header.getInt() != BinaryGraphFormat.MAGIC || header.getInt() != BinaryGraphFormat.VERSION) {
+            channel.close();
+            throw new IOException("Not a binary graph file (bad magic or version): " + file);
+        }
+        graphCount = header.getInt();
+        position = BinaryGraphFormat.FILE_HEADER_BYTES;
+    }
+
+    /**
+     * Checks whether a file starts with the binary graph magic number
+     */
+    public static boolean isBinaryGraphFile(File file) {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return Integer.reverseBytes(in.readInt()) == BinaryGraphFormat.MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public int getGraphCount() {
+        return graphCount;
+    }
+
+    /**
+     * Maps the next graph section
+     * @return the next graph, or null when all graphs have been read
+     */
+    public MappedGraph next() throws IOException {
+        if (graphsRead == graphCount) {
+            return null;
+        }
+
+        MappedByteBuffer header = map(position, BinaryGraphFormat.GRAPH_HEADER_BYTES);
+        int id = header.getInt();
+        int vertexCount = header.getInt();
+        long edgeCount = header.getLong();
+        long nameBytes = header.getLong();
+        position += BinaryGraphFormat.GRAPH_HEADER_BYTES;
+
+        String[] names = new String[vertexCount];
+        if (nameBytes > 0) {
+            MappedByteBuffer table = map(position, nameBytes);
+            for (int v = 0; v < vertexCount; v++) {
+                byte[] bytes = new byte[table.getInt()];
+                table.get(bytes);
+                names[v] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        position += nameBytes;
+
+        long chunkRecords = 1L << MappedGraph.CHUNK_SHIFT;
+        IntBuffer[] chunks = new IntBuffer[(int) ((edgeCount + chunkRecords - 1) / chunkRecords)];
+        for (int c = 0; c < chunks.length; c++) {
+            long records = Math.min(chunkRecords, edgeCount - c * chunkRecords);
+            chunks[c] = map(position, records * BinaryGraphFormat.EDGE_RECORD_BYTES).asIntBuffer();
+            position += records * BinaryGraphFormat.EDGE_RECORD_BYTES;
+        }
+
+        graphsRead++;
+        return new MappedGraph(id, names, chunks, edgeCount);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private MappedByteBuffer map(long offset, long size) throws IOException {
+        if (offset + size > channel.size()) {
+            throw new EOFException("Binary graph file is truncated at offset " + offset);
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+}
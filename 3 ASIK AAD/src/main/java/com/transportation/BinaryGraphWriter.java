@@ -0,0 +1,131 @@
+package com.transportation;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Writes graphs in the layout described by {@link BinaryGraphFormat}.
+ * The graph count in the file header is filled in on {@link #close()}.
+ */
+public class BinaryGraphWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private int graphCount;
+
+    public BinaryGraphWriter(File file) throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(BinaryGraphFormat.MAGIC);
+        buffer.putInt(BinaryGraphFormat.VERSION);
+        buffer.putInt(0); // graph count, patched on close
+        buffer.putInt(0);
+    }
+
+    /**
+     * Appends a graph given in the JSON input model. Edge endpoints missing from the
+     * node list are added to the name table. Geometric graphs are written as their Delaunay graph.
+     */
+    public void writeGraph(GraphInput graph) throws IOException {
+        if (graph.getCoordinates() != null) {
+            writeGraph(graph.getId(), EuclideanMST.toGraph(graph).toEdgeList());
+            return;
+        }
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        for (String node : graph.getNodes()) {
+            ids.computeIfAbsent(node, name -> { names.add(name); return names.size() - 1; });
+        }
+        int[] from = new int[graph.getEdges().size()];
+        int[] to = new int[from.length];
+        int[] weight = new int[from.length];
+        for (int e = 0; e < from.length; e++) {
+            EdgeInput edge = graph.getEdges().get(e);
+            from[e] = ids.computeIfAbsent(edge.getFrom(), name -> { names.add(name); return names.size() - 1; });
+            to[e] = ids.computeIfAbsent(edge.getTo(), name -> { names.add(name); return names.size() - 1; });
+            weight[e] = edge.getWeight();
+        }
+        writeGraph(graph.getId(), new ArrayEdgeList(names.toArray(new String[0]), from, to, weight, from.length));
+    }
+
+    /**
+     * Appends a graph given as an edge list
+     * @param id the graph id stored in the section header
+     * @param edges the vertices and edges to write
+     */
+    public void writeGraph(int id, EdgeList edges) throws IOException {
+        int n = edges.getVertexCount();
+        byte[][] encoded = new byte[n][];
+        long nameBytes = 0;
+        for (int v = 0; v < n; v++) {
+            encoded[v] = edges.getVertexName(v).getBytes(StandardCharsets.UTF_8);
+            nameBytes += 4 + encoded[v].length;
+        }
+        long padding = (4 - (nameBytes & 3)) & 3;
+
+        ensureRemaining(BinaryGraphFormat.GRAPH_HEADER_BYTES);
+        buffer.putInt(id);
+        buffer.putInt(n);
+        buffer.putLong(edges.getEdgeCount());
+        buffer.putLong(nameBytes + padding);
+
+        for (byte[] name : encoded) {
+            ensureRemaining(4);
+            buffer.putInt(name.length);
+            for (int offset = 0; offset < name.length; ) {
+                ensureRemaining(1);
+                int chunk = Math.min(buffer.remaining(), name.length - offset);
+                buffer.put(name, offset, chunk);
+                offset += chunk;
+            }
+        }
+        ensureRemaining((int) padding);
+        for (long p = 0; p < padding; p++) {
+            buffer.put((byte) 0);
+        }
+
+        for (long e = 0, m = edges.getEdgeCount(); e < m; e++) {
+            ensureRemaining(BinaryGraphFormat.EDGE_RECORD_BYTES);
+            buffer.putInt(edges.from(e));
+            buffer.putInt(edges.to(e));
+            buffer.putInt(edges.weight(e));
+        }
+        graphCount++;
+    }
+
+    public int getGraphCount() {
+        return graphCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            ByteBuffer count = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, graphCount);
+            channel.write(count, 8);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
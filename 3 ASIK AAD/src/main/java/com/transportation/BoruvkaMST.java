@@ -0,0 +1,364 @@
+package com.transportation;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Parallel implementation of Borůvka's algorithm for finding Minimum Spanning Trees.
+ * Each round selects the cheapest edge leaving every component in parallel on a
+ * {@link ForkJoinPool}, merges the components, then contracts the edge list in parallel
+ * by relabelling endpoints to component roots and dropping edges that became internal.
+ * Edges are ranked by {@code weight << 32 | index}, a strict total order, so the tree is
+ * the same one {@link KruskalMST} selects.
+ */
+public class BoruvkaMST {
+    private static final int CHUNK_SIZE = 8192;
+    private static final long NO_EDGE = Long.MAX_VALUE;
+    private static final long NO_CANDIDATE = -1;
+    /** Edge lists below this size rank edges by packed {@code weight << 32 | index} keys. */
+    private static final long MAX_PACKED_EDGES = 0xFFFF_FFFFL;
+
+    private final ForkJoinPool pool;
+
+    public BoruvkaMST() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public BoruvkaMST(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Finds the Minimum Spanning Tree using Borůvka's algorithm
+     * @param graph the input graph
+     * @return MST result containing edges, cost, and performance metrics
+     */
+    public MSTResult findMST(Graph graph) {
+        return graph.isOffHeap() ? findMST(graph.toEdgeList()) : findMST(graph.toCompactGraph());
+    }
+
+    /**
+     * Finds the Minimum Spanning Tree using parallel Borůvka rounds over the CSR arrays
+     * @param graph the compact input graph
+     * @return MST result containing edges, cost, and performance metrics
+     */
+    public MSTResult findMST(CompactGraph graph) {
+        try (MSTWorkspace workspace = MSTWorkspace.acquire()) {
+            return findMST(graph, workspace);
+        }
+    }
+
+    /**
+     * @param workspace supplies the edge arrays, the double-buffered active edge lists and the
+     *                  union-find and candidate arrays
+     */
+    MSTResult findMST(CompactGraph graph, MSTWorkspace workspace) {
+        long startTime = System.nanoTime();
+        long operations = 0;
+
+        int n = graph.getVertexCount();
+        List<Edge> mstEdges = new ArrayList<>(Math.max(n - 1, 0));
+        int totalCost = 0;
+
+        // Handle empty graph and single vertex graph
+        if (n <= 1) {
+            long executionTimeNanos = System.nanoTime() - startTime;
+            return new MSTResult(mstEdges, totalCost, operations, executionTimeNanos / 1_000_000, executionTimeNanos);
+        }
+
+        int m = workspace.collectEdges(graph);
+        int[] from = workspace.edgeFrom();
+        int[] to = workspace.edgeTo();
+        int[] weight = workspace.edgeWeight();
+
+        // Active edge list: current component of each endpoint plus the original edge id.
+        // Contraction writes the surviving edges into the spare buffers, then the two sets swap.
+        int[] compU = workspace.edgeScratch(0, m);
+        int[] compV = workspace.edgeScratch(1, m);
+        int[] edgeId = workspace.edgeScratch(2, m);
+        int[] spareU = workspace.edgeScratch(3, m);
+        int[] spareV = workspace.edgeScratch(4, m);
+        int[] spareIds = workspace.edgeScratch(5, m);
+        System.arraycopy(from, 0, compU, 0, m);
+        System.arraycopy(to, 0, compV, 0, m);
+        for (int e = 0; e < m; e++) {
+            edgeId[e] = e;
+        }
+
+        DisjointSet uf = workspace.disjointSet(n);
+        AtomicLongArray cheapest = workspace.cheapest(n);
+
+        while (m > 0 && mstEdges.size() < n - 1) {
+            final int active = m;
+            final int[] cu = compU;
+            final int[] cv = compV;
+            final int[] ids = edgeId;
+
+            // Phase 1: cheapest outgoing edge per component
+            forEach(0, n, CHUNK_SIZE, (lo, hi) -> {
+                for (int c = lo; c < hi; c++) {
+                    cheapest.set(c, NO_EDGE);
+                }
+            });
+            forEach(0, active, CHUNK_SIZE, (lo, hi) -> {
+                for (int i = lo; i < hi; i++) {
+                    int e = ids[i];
+                    long key = ((long) weight[e] << 32) | e;
+                    offerMin(cheapest, cu[i], key);
+                    offerMin(cheapest, cv[i], key);
+                }
+            });
+            operations += active;
+
+            // Phase 2: merge along the selected edges (each edge may be picked twice)
+            boolean merged = false;
+            for (int c = 0; c < n; c++) {
+                long key = cheapest.get(c);
+                if (key == NO_EDGE) continue;
+
+                int e = (int) key;
+                operations += 2;
+                if (uf.union(from[e], to[e])) {
+                    mstEdges.add(graph.toEdge(from[e], to[e], weight[e]));
+                    totalCost += weight[e];
+                    operations += 1;
+                    merged = true;
+                }
+            }
+            if (!merged) break;
+
+            // Phase 3: contract - relabel endpoints to roots, then drop internal edges
+            forEach(0, active, CHUNK_SIZE, (lo, hi) -> {
+                for (int i = lo; i < hi; i++) {
+                    cu[i] = uf.findReadOnly(cu[i]);
+                    cv[i] = uf.findReadOnly(cv[i]);
+                }
+            });
+
+            int chunks = (active + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            int[] kept = new int[chunks + 1];
+            forEach(0, chunks, 1, (lo, hi) -> {
+                for (int chunk = lo; chunk < hi; chunk++) {
+                    int count = 0;
+                    for (int i = chunk * CHUNK_SIZE, end = Math.min(active, i + CHUNK_SIZE); i < end; i++) {
+                        if (cu[i] != cv[i]) count++;
+                    }
+                    kept[chunk + 1] = count;
+                }
+            });
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                kept[chunk + 1] += kept[chunk];
+            }
+
+            m = kept[chunks];
+            int[] nextU = spareU;
+            int[] nextV = spareV;
+            int[] nextIds = spareIds;
+            forEach(0, chunks, 1, (lo, hi) -> {
+                for (int chunk = lo; chunk < hi; chunk++) {
+                    int out = kept[chunk];
+                    for (int i = chunk * CHUNK_SIZE, end = Math.min(active, i + CHUNK_SIZE); i < end; i++) {
+                        if (cu[i] != cv[i]) {
+                            nextU[out] = cu[i];
+                            nextV[out] = cv[i];
+                            nextIds[out] = ids[i];
+                            out++;
+                        }
+                    }
+                }
+            });
+            spareU = cu;
+            spareV = cv;
+            spareIds = ids;
+            compU = nextU;
+            compV = nextV;
+            edgeId = nextIds;
+        }
+
+        long executionTimeNanos = System.nanoTime() - startTime;
+
+        if (mstEdges.size() != n - 1) {
+            System.out.println("Info: Graph is not connected. MST covers " +
+                    (mstEdges.size() + 1) + " out of " + n + " vertices.");
+        }
+
+        return new MSTResult(mstEdges, totalCost, operations, executionTimeNanos / 1_000_000, executionTimeNanos);
+    }
+
+    /**
+     * Finds the Minimum Spanning Tree with Borůvka rounds that stream over an edge list in
+     * place, such as an {@link OffHeapEdgeList} or a memory-mapped graph with more edges than
+     * fit in an array. Instead of contracting the edges into new arrays, each round flattens
+     * the component labels, re-reads the list and skips edges inside a component, so heap use
+     * is O(V) regardless of E. Below 2^32 edges the candidates are packed
+     * {@code weight << 32 | index} keys; larger lists compare weights through the list.
+     * Ties are broken by edge index, so the tree is the one {@link KruskalMST} selects.
+     * @param edges the input edges, read once per round
+     * @return MST result containing edges, cost, and performance metrics
+     */
+    public MSTResult findMST(EdgeList edges) {
+        return findMST(edges, edges.getEdgeCount() < MAX_PACKED_EDGES);
+    }
+
+    /**
+     * @param packed true to rank candidates by packed keys, which requires fewer than 2^32 edges
+     */
+    MSTResult findMST(EdgeList edges, boolean packed) {
+        try (MSTWorkspace workspace = MSTWorkspace.acquire()) {
+            return findMST(edges, packed, workspace);
+        }
+    }
+
+    /**
+     * @param workspace supplies the per-vertex component, union-find and candidate arrays
+     */
+    MSTResult findMST(EdgeList edges, boolean packed, MSTWorkspace workspace) {
+        long startTime = System.nanoTime();
+        long operations = 0;
+
+        int n = edges.getVertexCount();
+        List<Edge> mstEdges = new ArrayList<>(Math.max(n - 1, 0));
+        int totalCost = 0;
+
+        // Handle empty graph and single vertex graph
+        if (n <= 1) {
+            long executionTimeNanos = System.nanoTime() - startTime;
+            return new MSTResult(mstEdges, totalCost, operations, executionTimeNanos / 1_000_000, executionTimeNanos);
+        }
+
+        long m = edges.getEdgeCount();
+        int chunks = Math.toIntExact((m + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        long none = packed ? NO_EDGE : NO_CANDIDATE;
+        DisjointSet uf = workspace.disjointSet(n);
+        AtomicLongArray cheapest = workspace.cheapest(n);
+        int[] component = workspace.vertexKeys(n);
+
+        boolean merged = true;
+        while (merged && mstEdges.size() < n - 1) {
+            // Phase 1: flatten the component of every vertex, then find the cheapest
+            // outgoing edge per component, by (weight, edge index)
+            forEach(0, n, CHUNK_SIZE, (lo, hi) -> {
+                for (int v = lo; v < hi; v++) {
+                    component[v] = uf.findReadOnly(v);
+                    cheapest.set(v, none);
+                }
+            });
+            forEach(0, chunks, 1, (lo, hi) -> {
+                for (long e = (long) lo * CHUNK_SIZE, end = Math.min(m, (long) hi * CHUNK_SIZE); e < end; e++) {
+                    int cu = component[edges.from(e)];
+                    int cv = component[edges.to(e)];
+                    if (cu != cv && packed) {
+                        long key = ((long) edges.weight(e) << 32) | e;
+                        offerMin(cheapest, cu, key);
+                        offerMin(cheapest, cv, key);
+                    } else if (cu != cv) {
+                        int w = edges.weight(e);
+                        offerMin(edges, cheapest, cu, e, w);
+                        offerMin(edges, cheapest, cv, e, w);
+                    }
+                }
+            });
+            operations += n + m;
+
+            // Phase 2: merge along the selected edges (each edge may be picked twice)
+            merged = false;
+            for (int c = 0; c < n; c++) {
+                long selected = cheapest.get(c);
+                if (selected == none) continue;
+
+                long e = packed ? selected & MAX_PACKED_EDGES : selected;
+                int from = edges.from(e);
+                int to = edges.to(e);
+                operations += 2;
+                if (uf.union(from, to)) {
+                    int w = edges.weight(e);
+                    mstEdges.add(new Edge(edges.getVertexName(from), edges.getVertexName(to), w));
+                    totalCost += w;
+                    operations += 1;
+                    merged = true;
+                }
+            }
+        }
+
+        long executionTimeNanos = System.nanoTime() - startTime;
+
+        if (mstEdges.size() != n - 1) {
+            System.out.println("Info: Graph is not connected. MST covers " +
+                    (mstEdges.size() + 1) + " out of " + n + " vertices.");
+        }
+
+        return new MSTResult(mstEdges, totalCost, operations, executionTimeNanos / 1_000_000, executionTimeNanos);
+    }
+
+    /**
+     * Records an edge as the cheapest of a component unless a lighter one, or an equally
+     * heavy one with a lower index, is already recorded
+     */
+    private static void offerMin(EdgeList edges, AtomicLongArray cheapest, int component, long edge, int weight) {
+        while (true) {
+            long current = cheapest.get(component);
+            if (current != NO_CANDIDATE) {
+                int currentWeight = edges.weight(current);
+                if (weight > currentWeight || (weight == currentWeight && edge > current)) {
+                    return;
+                }
+            }
+            if (cheapest.compareAndSet(component, current, edge)) {
+                return;
+            }
+        }
+    }
+
+    private static void offerMin(AtomicLongArray cheapest, int component, long key) {
+        long current = cheapest.get(component);
+        while (key < current && !cheapest.compareAndSet(component, current, key)) {
+            current = cheapest.get(component);
+        }
+    }
+
+    private void forEach(int lo, int hi, int grain, RangeBody body) {
+        if (hi - lo <= grain) {
+            body.run(lo, hi);
+        } else {
+            pool.invoke(new RangeTask(lo, hi, grain, body));
+        }
+    }
+
+    /**
+     * Work applied to a half-open index range
+     */
+    private interface RangeBody {
+        void run(int lo, int hi);
+    }
+
+    /**
+     * Splits an index range in halves until it is no larger than the grain
+     */
+    private static class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+        private final int hi;
+        private final int grain;
+        private final RangeBody body;
+
+        RangeTask(int lo, int hi, int grain, RangeBody body) {
+            this.lo = lo;
+            this.hi = hi;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= grain) {
+                body.run(lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new RangeTask(lo, mid, grain, body), new RangeTask(mid, hi, grain, body));
+        }
+    }
+}
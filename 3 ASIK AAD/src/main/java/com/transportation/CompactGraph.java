@@ -0,0 +1,287 @@
+package com.transportation;
+
+import java.util.*;
+
+/**
+ * Immutable compressed-sparse-row (CSR) form of a transportation network.
+ * Vertex names are interned once to dense int ids {@code 0..V-1}; the adjacency of
+ * vertex {@code v} occupies slots {@code offsets[v]..offsets[v+1]-1} of the parallel
+ * {@code neighbors}/{@code weights} arrays. Every undirected edge appears once in the
+ * adjacency of each endpoint.
+ */
+public final class CompactGraph {
+    private final String[] names;
+    private final Map<String, Integer> ids;
+    private final int[] offsets;
+    private final int[] neighbors;
+    private final int[] weights;
+    private final int edgeCount;
+
+    private CompactGraph(String[] names, Map<String, Integer> ids, int[] offsets,
+                         int[] neighbors, int[] weights, int edgeCount) {
+        this.names = names;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.weights = weights;
+        this.edgeCount = edgeCount;
+    }
+
+    public int getVertexCount() {
+        return names.length;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public String getVertexName(int vertex) {
+        return names[vertex];
+    }
+
+    /**
+     * Looks up the dense id of a vertex
+     * @param name the vertex name
+     * @return the vertex id, or -1 if the vertex is not part of the graph
+     */
+    public int getVertexId(String name) {
+        Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public int getDegree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    /** First adjacency slot of the given vertex (inclusive). */
+    public int adjacencyStart(int vertex) {
+        return offsets[vertex];
+    }
+
+    /** Last adjacency slot of the given vertex (exclusive). */
+    public int adjacencyEnd(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    public int neighborAt(int slot) {
+        return neighbors[slot];
+    }
+
+    public int weightAt(int slot) {
+        return weights[slot];
+    }
+
+    /**
+     * Copies every undirected edge once, taken from the adjacency of its lower endpoint.
+     * Self-loops can never join a spanning tree and are skipped.
+     * @param from receives the lower endpoint of each edge
+     * @param to receives the higher endpoint of each edge
+     * @param weight receives the edge weights
+     * @return the number of edges written (at most {@link #getEdgeCount()})
+     */
+    public int collectEdges(int[] from, int[] to, int[] weight) {
+        int m = 0;
+        for (int u = 0; u < names.length; u++) {
+            for (int slot = offsets[u], end = offsets[u + 1]; slot < end; slot++) {
+                int v = neighbors[slot];
+                if (v > u) {
+                    from[m] = u;
+                    to[m] = v;
+                    weight[m] = weights[slot];
+                    m++;
+                }
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Creates an edge-indexed view of this graph with one entry per non-loop edge
+     * @return edge list backed by freshly collected int arrays
+     */
+    public EdgeList toEdgeList() {
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        int[] weight = new int[edgeCount];
+        int m = collectEdges(from, to, weight);
+        return new ArrayEdgeList(names, from, to, weight, m);
+    }
+
+    /**
+     * Creates an edge-indexed view backed by the edge arrays of a workspace
+     * @return edge list valid until the workspace is reused or closed
+     */
+    EdgeList toEdgeList(MSTWorkspace workspace) {
+        int m = workspace.collectEdges(this);
+        return new ArrayEdgeList(names, workspace.edgeFrom(), workspace.edgeTo(), workspace.edgeWeight(), m);
+    }
+
+    /**
+     * Builds the CSR form of an edge list, e.g. a memory-mapped binary graph
+     * @param edges the source edges; vertex ids and names are kept as they are
+     * @return the compact graph
+     */
+    public static CompactGraph fromEdgeList(EdgeList edges) {
+        long edgeCount = edges.getEdgeCount();
+        if (edgeCount > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Too many edges for an in-memory adjacency: " + edgeCount);
+        }
+        Builder builder = new Builder(edges.getVertexCount(), (int) edgeCount);
+        for (int v = 0; v < edges.getVertexCount(); v++) {
+            builder.addVertex(edges.getVertexName(v));
+        }
+        for (long e = 0; e < edgeCount; e++) {
+            builder.addEdge(edges.from(e), edges.to(e), edges.weight(e));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Copies the subgraph induced by a closed set of vertices, such as a connected component,
+     * straight into CSR form. Every neighbor of a listed vertex must be listed as well.
+     * @param vertices holds the vertices in {@code vertices[from..to-1]}, in their new id order
+     * @param localId maps each listed vertex to its position in the range, {@code 0..to-from-1}
+     * @return the component as a graph of its own
+     */
+    public CompactGraph subgraph(int[] vertices, int from, int to, int[] localId) {
+        int n = to - from;
+        String[] subNames = new String[n];
+        Map<String, Integer> subIds = new HashMap<>(Math.max(16, (int) (n / 0.75f) + 1));
+        int[] subOffsets = new int[n + 1];
+        for (int k = 0; k < n; k++) {
+            int v = vertices[from + k];
+            subNames[k] = names[v];
+            subIds.put(names[v], k);
+            subOffsets[k + 1] = subOffsets[k] + offsets[v + 1] - offsets[v];
+        }
+
+        int[] subNeighbors = new int[subOffsets[n]];
+        int[] subWeights = new int[subOffsets[n]];
+        for (int k = 0; k < n; k++) {
+            int v = vertices[from + k];
+            int target = subOffsets[k];
+            for (int slot = offsets[v], end = offsets[v + 1]; slot < end; slot++, target++) {
+                subNeighbors[target] = localId[neighbors[slot]];
+                subWeights[target] = weights[slot];
+            }
+        }
+        // Each edge occupies two slots, a self-loop both in the same row
+        return new CompactGraph(subNames, subIds, subOffsets, subNeighbors, subWeights, subOffsets[n] / 2);
+    }
+
+    /**
+     * Creates an {@link Edge} for reporting, using vertex names
+     */
+    public Edge toEdge(int from, int to, int weight) {
+        return new Edge(names[from], names[to], weight);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CompactGraph{vertices=%d, edges=%d}", getVertexCount(), getEdgeCount());
+    }
+
+    /**
+     * Incrementally collects vertices and edges, then freezes them into a {@link CompactGraph}.
+     * Edge endpoints that were not added as vertices are interned on first use.
+     */
+    public static final class Builder {
+        private final Map<String, Integer> ids;
+        private final List<String> names;
+        private int[] from;
+        private int[] to;
+        private int[] weight;
+        private int edgeCount;
+
+        public Builder() {
+            this(16, 16);
+        }
+
+        public Builder(int expectedVertices, int expectedEdges) {
+            this.ids = new HashMap<>(Math.max(16, (int) (expectedVertices / 0.75f) + 1));
+            this.names = new ArrayList<>(expectedVertices);
+            int capacity = Math.max(expectedEdges, 4);
+            this.from = new int[capacity];
+            this.to = new int[capacity];
+            this.weight = new int[capacity];
+        }
+
+        /**
+         * Adds a vertex if it is not present yet
+         * @param name the vertex name
+         * @return the dense id of the vertex
+         */
+        public int addVertex(String name) {
+            Integer id = ids.get(name);
+            if (id != null) {
+                return id;
+            }
+            int newId = names.size();
+            ids.put(name, newId);
+            names.add(name);
+            return newId;
+        }
+
+        public Builder addEdge(String from, String to, int weight) {
+            return addEdge(addVertex(from), addVertex(to), weight);
+        }
+
+        public Builder addEdge(int u, int v, int w) {
+            if (u < 0 || u >= names.size() || v < 0 || v >= names.size()) {
+                throw new IllegalArgumentException("Unknown vertex id in edge " + u + "-" + v);
+            }
+            if (edgeCount == from.length) {
+                int capacity = from.length + (from.length >> 1);
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+            }
+            from[edgeCount] = u;
+            to[edgeCount] = v;
+            weight[edgeCount] = w;
+            edgeCount++;
+            return this;
+        }
+
+        public int getVertexCount() {
+            return names.size();
+        }
+
+        public int getEdgeCount() {
+            return edgeCount;
+        }
+
+        /**
+         * Freezes the collected data into CSR arrays
+         * @return the immutable compact graph
+         */
+        public CompactGraph build() {
+            int n = names.size();
+            int[] offsets = new int[n + 1];
+            for (int e = 0; e < edgeCount; e++) {
+                offsets[from[e] + 1]++;
+                offsets[to[e] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+
+            int[] neighbors = new int[2 * edgeCount];
+            int[] weights = new int[2 * edgeCount];
+            int[] cursor = Arrays.copyOf(offsets, n);
+            for (int e = 0; e < edgeCount; e++) {
+                int u = from[e];
+                int v = to[e];
+                int slot = cursor[u]++;
+                neighbors[slot] = v;
+                weights[slot] = weight[e];
+                slot = cursor[v]++;
+                neighbors[slot] = u;
+                weights[slot] = weight[e];
+            }
+
+            return new CompactGraph(names.toArray(new String[0]), new HashMap<>(ids),
+                    offsets, neighbors, weights, edgeCount);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.transportation;
+
+/**
+ * Probe that counts every event, grouped by phase: sorting, heap, union-find and edge scan.
+ */
+public class CountingProbe implements MSTProbe {
+    private long sortOperations;
+    private long heapPushes;
+    private long heapPops;
+    private long heapDecreaseKeys;
+    private long finds;
+    private long unions;
+    private long compressionSteps;
+    private long edgesScanned;
+    private long edgesRejected;
+
+    @Override public void sortOperations(long operations) { sortOperations += operations; }
+    @Override public void heapPush() { heapPushes++; }
+    @Override public void heapPop() { heapPops++; }
+    @Override public void heapDecreaseKey() { heapDecreaseKeys++; }
+    @Override public void find() { finds++; }
+    @Override public void union() { unions++; }
+    @Override public void compressionStep() { compressionSteps++; }
+    @Override public void edgeScanned() { edgesScanned++; }
+    @Override public void edgeRejected() { edgesRejected++; }
+
+    /**
+     * Clears all counters so the probe can observe another run
+     * @return this probe
+     */
+    public CountingProbe reset() {
+        sortOperations = 0;
+        heapPushes = 0;
+        heapPops = 0;
+        heapDecreaseKeys = 0;
+        finds = 0;
+        unions = 0;
+        compressionSteps = 0;
+        edgesScanned = 0;
+        edgesRejected = 0;
+        return this;
+    }
+
+    // Getters
+    public long getSortOperations() { return sortOperations; }
+    public long getHeapPushes() { return heapPushes; }
+    public long getHeapPops() { return heapPops; }
+    public long getHeapDecreaseKeys() { return heapDecreaseKeys; }
+    public long getFinds() { return finds; }
+    public long getUnions() { return unions; }
+    public long getCompressionSteps() { return compressionSteps; }
+    public long getEdgesScanned() { return edgesScanned; }
+    public long getEdgesRejected() { return edgesRejected; }
+}
@@ -0,0 +1,504 @@
+package com.transportation;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Delaunay triangulation of points in the plane by Bowyer-Watson incremental insertion.
+ * Each point removes the triangles whose circumcircle contains it and re-triangulates the
+ * resulting cavity, in time proportional to the cavity. Points are inserted along a Hilbert
+ * curve and located by walking from the last new triangle, so walks stay short and the whole
+ * triangulation runs in about O(n log n), dominated by the sort.
+ *
+ * Instead of a finite super-triangle, the outside of the convex hull is covered by "ghost"
+ * triangles sharing a vertex at infinity, so no hull edge is ever lost. The orientation and
+ * in-circle tests are evaluated in floating point with an error bound and recomputed exactly
+ * when the sign is uncertain, which keeps collinear and cocircular inputs (grids, integer
+ * coordinates) consistent.
+ *
+ * The triangulation has at most 3n - 6 edges and contains every Euclidean minimum spanning
+ * tree of the points, see {@link EuclideanMST}.
+ */
+public final class DelaunayTriangulation {
+    // Shewchuk's static error bounds for the fast predicates
+    private static final double EPSILON = Math.ulp(1.0) / 2;
+    private static final double ORIENT_BOUND = (3 + 16 * EPSILON) * EPSILON;
+    private static final double IN_CIRCLE_BOUND = (10 + 96 * EPSILON) * EPSILON;
+    private static final int HILBERT_ORDER = 15;
+
+    private final double[] x;
+    private final double[] y;
+    private final int infinite;
+
+    // Triangle t has counter-clockwise vertices vertex[3t..3t+2]; neighbor[3t+i] lies
+    // across the edge opposite vertex[3t+i]
+    private int[] vertex;
+    private int[] neighbor;
+    private int[] mark;
+    private int triangleSlots;
+    private int[] free = new int[16];
+    private int freeCount;
+    private int stamp;
+    private int last;
+    private int random = 0x2545F491;
+
+    // Per-insertion scratch
+    private int[] cavity = new int[16];
+    private int[] boundary = new int[16 * 3];
+    private final int[] startsAt;
+    private final int[] endsAt;
+
+    private DelaunayTriangulation(double[] x, double[] y) {
+        this.x = x;
+        this.y = y;
+        this.infinite = x.length;
+        int capacity = 2 * x.length + 8;
+        this.vertex = new int[3 * capacity];
+        this.neighbor = new int[3 * capacity];
+        this.mark = new int[capacity];
+        this.startsAt = new int[x.length + 1];
+        this.endsAt = new int[x.length + 1];
+    }
+
+    /**
+     * Triangulates a point set. Repeated points are not triangulated; instead each copy gets
+     * an edge to the first occurrence of its position, so the returned edges always connect
+     * all points.
+     * @param x x coordinates, finite
+     * @param y y coordinates, finite, same length as x
+     * @return endpoint pairs {@code from0, to0, from1, to1, ...}, each undirected edge once
+     */
+    public static int[] edges(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Coordinate arrays differ in length: " + x.length + " vs " + y.length);
+        }
+        for (int i = 0; i < x.length; i++) {
+            if (!Double.isFinite(x[i]) || !Double.isFinite(y[i])) {
+                throw new IllegalArgumentException("Point " + i + " has a non-finite coordinate");
+            }
+        }
+        return new DelaunayTriangulation(x, y).triangulate();
+    }
+
+    private int[] triangulate() {
+        int n = x.length;
+        int[] order = hilbertOrder();
+
+        // Equal points are adjacent in Hilbert order after the tie-break sort; keep the first copy
+        EdgeSink edges = new EdgeSink(3 * n);
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            int p = order[i];
+            if (unique > 0 && samePoint(order[unique - 1], p)) {
+                edges.add(order[unique - 1], p);
+            } else {
+                order[unique++] = p;
+            }
+        }
+        if (unique < 2) {
+            return edges.toArray();
+        }
+
+        // The first point off the line through the first two seeds the triangulation
+        int a = order[0];
+        int b = order[1];
+        int third = 2;
+        while (third < unique && orient(a, b, order[third]) == 0) {
+            third++;
+        }
+        if (third == unique) {
+            addCollinear(order, unique, edges);
+            return edges.toArray();
+        }
+
+        int c = order[third];
+        if (orient(a, b, c) < 0) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        initialize(a, b, c);
+        for (int i = 2; i < unique; i++) {
+            if (i != third) {
+                insert(order[i]);
+            }
+        }
+
+        for (int t = 0; t < triangleSlots; t++) {
+            if (vertex[3 * t] < 0) {
+                continue; // freed slot
+            }
+            for (int i = 0; i < 3; i++) {
+                int from = vertex[3 * t + (i + 1) % 3];
+                int to = vertex[3 * t + (i + 2) % 3];
+                // Each edge appears once in each direction; ghost edges touch the infinite vertex
+                if (from < to && to != infinite) {
+                    edges.add(from, to);
+                }
+            }
+        }
+        return edges.toArray();
+    }
+
+    /**
+     * Sorts point indices by their cell on a Hilbert curve over the bounding box; points in
+     * the same cell are ordered by coordinates, which places equal points next to each other
+     */
+    private int[] hilbertOrder() {
+        int n = x.length;
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, x[i]);
+            maxX = Math.max(maxX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        int side = 1 << HILBERT_ORDER;
+        double scale = (side - 1) / Math.max(Math.max(maxX - minX, maxY - minY), Double.MIN_NORMAL);
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            int cellX = (int) ((x[i] - minX) * scale);
+            int cellY = (int) ((y[i] - minY) * scale);
+            keys[i] = hilbertIndex(side, cellX, cellY) << 32 | i;
+        }
+        Arrays.sort(keys);
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) keys[i];
+        }
+        for (int from = 0; from < n; ) {
+            int to = from + 1;
+            while (to < n && keys[to] >>> 32 == keys[from] >>> 32) {
+                to++;
+            }
+            if (to - from > 1) {
+                Integer[] cell = new Integer[to - from];
+                for (int i = from; i < to; i++) {
+                    cell[i - from] = order[i];
+                }
+                Arrays.sort(cell, (p, q) -> x[p] != x[q] ? Double.compare(x[p], x[q]) : Double.compare(y[p], y[q]));
+                for (int i = from; i < to; i++) {
+                    order[i] = cell[i - from];
+                }
+            }
+            from = to;
+        }
+        return order;
+    }
+
+    private static long hilbertIndex(int side, int cellX, int cellY) {
+        long index = 0;
+        for (int s = side >>> 1; s > 0; s >>>= 1) {
+            int rx = (cellX & s) > 0 ? 1 : 0;
+            int ry = (cellY & s) > 0 ? 1 : 0;
+            index += (long) s * s * ((3 * rx) ^ ry);
+            if (ry == 0) {
+                if (rx == 1) {
+                    cellX = side - 1 - cellX;
+                    cellY = side - 1 - cellY;
+                }
+                int swap = cellX;
+                cellX = cellY;
+                cellY = swap;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * All points lie on one line: the triangulation degenerates to the path along it
+     */
+    private void addCollinear(int[] order, int count, EdgeSink edges) {
+        Integer[] line = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            line[i] = order[i];
+        }
+        Arrays.sort(line, (p, q) -> x[p] != x[q] ? Double.compare(x[p], x[q]) : Double.compare(y[p], y[q]));
+        for (int i = 1; i < count; i++) {
+            edges.add(line[i - 1], line[i]);
+        }
+    }
+
+    /**
+     * Creates the counter-clockwise triangle abc and the three ghost triangles around it
+     */
+    private void initialize(int a, int b, int c) {
+        int inner = newTriangle(a, b, c);
+        int ghostAB = newTriangle(b, a, infinite);
+        int ghostBC = newTriangle(c, b, infinite);
+        int ghostCA = newTriangle(a, c, infinite);
+        link(inner, 2, ghostAB, 2);
+        link(inner, 0, ghostBC, 2);
+        link(inner, 1, ghostCA, 2);
+        // Ghost (b, a, inf) shares edge (a, inf) with ghost (a, c, inf) and edge (inf, b) with ghost (c, b, inf)
+        link(ghostAB, 0, ghostCA, 1);
+        link(ghostAB, 1, ghostBC, 0);
+        link(ghostBC, 1, ghostCA, 0);
+        last = inner;
+    }
+
+    private void link(int t, int i, int u, int j) {
+        neighbor[3 * t + i] = u;
+        neighbor[3 * u + j] = t;
+    }
+
+    /**
+     * Bowyer-Watson step: collects the cavity of triangles in conflict with p and fans the
+     * cavity boundary around p
+     */
+    private void insert(int p) {
+        int start = locate(p);
+        stamp++;
+        int cavityCount = 0;
+        cavity[cavityCount++] = start;
+        mark[start] = stamp;
+        for (int k = 0; k < cavityCount; k++) {
+            int t = cavity[k];
+            for (int i = 0; i < 3; i++) {
+                int across = neighbor[3 * t + i];
+                if (mark[across] != stamp && inConflict(across, p)) {
+                    mark[across] = stamp;
+                    if (cavityCount == cavity.length) {
+                        cavity = Arrays.copyOf(cavity, cavityCount * 2);
+                    }
+                    cavity[cavityCount++] = across;
+                }
+            }
+        }
+
+        // Boundary edges (a, b) in cavity order, with the slot of the outside triangle pointing back
+        int boundaryCount = 0;
+        for (int k = 0; k < cavityCount; k++) {
+            int t = cavity[k];
+            for (int i = 0; i < 3; i++) {
+                int across = neighbor[3 * t + i];
+                if (mark[across] == stamp) {
+                    continue;
+                }
+                if (3 * boundaryCount + 3 > boundary.length) {
+                    boundary = Arrays.copyOf(boundary, boundary.length * 2);
+                }
+                int backSlot = 3 * across;
+                while (neighbor[backSlot] != t) {
+                    backSlot++;
+                }
+                boundary[3 * boundaryCount] = vertex[3 * t + (i + 1) % 3];
+                boundary[3 * boundaryCount + 1] = vertex[3 * t + (i + 2) % 3];
+                boundary[3 * boundaryCount + 2] = backSlot;
+                boundaryCount++;
+            }
+        }
+
+        for (int k = 0; k < cavityCount; k++) {
+            release(cavity[k]);
+        }
+        int created = -1;
+        for (int k = 0; k < boundaryCount; k++) {
+            int a = boundary[3 * k];
+            int b = boundary[3 * k + 1];
+            int backSlot = boundary[3 * k + 2];
+            created = newTriangle(a, b, p);
+            neighbor[3 * created + 2] = backSlot / 3;
+            neighbor[backSlot] = created;
+            startsAt[a] = created;
+            endsAt[b] = created;
+        }
+        // The boundary is a cycle, so every new triangle meets the one starting at its b and the one ending at its a
+        for (int k = 0; k < boundaryCount; k++) {
+            int t = neighbor[boundary[3 * k + 2]];
+            neighbor[3 * t] = startsAt[vertex[3 * t + 1]];
+            neighbor[3 * t + 1] = endsAt[vertex[3 * t]];
+        }
+        last = created;
+    }
+
+    /**
+     * Visibility walk from the last new triangle: step across any edge that has p strictly on
+     * its outer side; starting at a random edge avoids cycling. Returns the real triangle
+     * containing p, or the first ghost triangle entered when p lies outside the hull.
+     */
+    private int locate(int p) {
+        int t = last;
+        if (isGhost(t)) {
+            t = neighbor[3 * t + ghostSlot(t)];
+        }
+        while (true) {
+            random ^= random << 13;
+            random ^= random >>> 17;
+            random ^= random << 5;
+            int first = (random >>> 1) % 3;
+            int next = -1;
+            for (int k = 0; k < 3 && next < 0; k++) {
+                int i = (first + k) % 3;
+                if (orient(vertex[3 * t + (i + 1) % 3], vertex[3 * t + (i + 2) % 3], p) < 0) {
+                    next = neighbor[3 * t + i];
+                }
+            }
+            if (next < 0) {
+                return t;
+            }
+            t = next;
+            if (isGhost(t)) {
+                return t;
+            }
+        }
+    }
+
+    /**
+     * A real triangle conflicts with p if p lies strictly inside its circumcircle; a ghost
+     * triangle if p lies strictly outside its hull edge or on the open edge itself
+     */
+    private boolean inConflict(int t, int p) {
+        int a = vertex[3 * t];
+        int b = vertex[3 * t + 1];
+        int c = vertex[3 * t + 2];
+        if (a == infinite) {
+            return ghostConflict(b, c, p);
+        }
+        if (b == infinite) {
+            return ghostConflict(c, a, p);
+        }
+        if (c == infinite) {
+            return ghostConflict(a, b, p);
+        }
+        return inCircle(a, b, c, p) > 0;
+    }
+
+    private boolean ghostConflict(int a, int b, int p) {
+        int side = orient(a, b, p);
+        if (side != 0) {
+            return side > 0;
+        }
+        if (x[a] != x[b]) {
+            return Math.min(x[a], x[b]) < x[p] && x[p] < Math.max(x[a], x[b]);
+        }
+        return Math.min(y[a], y[b]) < y[p] && y[p] < Math.max(y[a], y[b]);
+    }
+
+    private boolean isGhost(int t) {
+        return vertex[3 * t] == infinite || vertex[3 * t + 1] == infinite || vertex[3 * t + 2] == infinite;
+    }
+
+    private int ghostSlot(int t) {
+        int i = 0;
+        while (vertex[3 * t + i] != infinite) {
+            i++;
+        }
+        return i;
+    }
+
+    private int newTriangle(int a, int b, int c) {
+        int t;
+        if (freeCount > 0) {
+            t = free[--freeCount];
+        } else {
+            if (triangleSlots == mark.length) {
+                int capacity = triangleSlots * 2;
+                vertex = Arrays.copyOf(vertex, 3 * capacity);
+                neighbor = Arrays.copyOf(neighbor, 3 * capacity);
+                mark = Arrays.copyOf(mark, capacity);
+            }
+            t = triangleSlots++;
+        }
+        vertex[3 * t] = a;
+        vertex[3 * t + 1] = b;
+        vertex[3 * t + 2] = c;
+        mark[t] = 0;
+        return t;
+    }
+
+    private void release(int t) {
+        vertex[3 * t] = -1;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = t;
+    }
+
+    private boolean samePoint(int p, int q) {
+        return x[p] == x[q] && y[p] == y[q];
+    }
+
+    /**
+     * @return positive if a, b, c turn counter-clockwise, negative if clockwise, 0 if collinear
+     */
+    private int orient(int a, int b, int c) {
+        double detLeft = (x[a] - x[c]) * (y[b] - y[c]);
+        double detRight = (y[a] - y[c]) * (x[b] - x[c]);
+        double det = detLeft - detRight;
+        if (Math.abs(det) > ORIENT_BOUND * (Math.abs(detLeft) + Math.abs(detRight))) {
+            return det > 0 ? 1 : -1;
+        }
+        BigDecimal acx = exact(x[a]).subtract(exact(x[c]));
+        BigDecimal bcy = exact(y[b]).subtract(exact(y[c]));
+        BigDecimal acy = exact(y[a]).subtract(exact(y[c]));
+        BigDecimal bcx = exact(x[b]).subtract(exact(x[c]));
+        return acx.multiply(bcy).subtract(acy.multiply(bcx)).signum();
+    }
+
+    /**
+     * @return positive if d lies inside the circumcircle of the counter-clockwise triangle abc,
+     *         negative if outside, 0 if on it
+     */
+    private int inCircle(int a, int b, int c, int d) {
+        double adx = x[a] - x[d], ady = y[a] - y[d];
+        double bdx = x[b] - x[d], bdy = y[b] - y[d];
+        double cdx = x[c] - x[d], cdy = y[c] - y[d];
+
+        double bdxcdy = bdx * cdy, cdxbdy = cdx * bdy;
+        double cdxady = cdx * ady, adxcdy = adx * cdy;
+        double adxbdy = adx * bdy, bdxady = bdx * ady;
+        double aLift = adx * adx + ady * ady;
+        double bLift = bdx * bdx + bdy * bdy;
+        double cLift = cdx * cdx + cdy * cdy;
+
+        double det = aLift * (bdxcdy - cdxbdy) + bLift * (cdxady - adxcdy) + cLift * (adxbdy - bdxady);
+        double permanent = (Math.abs(bdxcdy) + Math.abs(cdxbdy)) * aLift
+                + (Math.abs(cdxady) + Math.abs(adxcdy)) * bLift
+                + (Math.abs(adxbdy) + Math.abs(bdxady)) * cLift;
+        if (Math.abs(det) > IN_CIRCLE_BOUND * permanent) {
+            return det > 0 ? 1 : -1;
+        }
+
+        BigDecimal eax = exact(x[a]).subtract(exact(x[d])), eay = exact(y[a]).subtract(exact(y[d]));
+        BigDecimal ebx = exact(x[b]).subtract(exact(x[d])), eby = exact(y[b]).subtract(exact(y[d]));
+        BigDecimal ecx = exact(x[c]).subtract(exact(x[d])), ecy = exact(y[c]).subtract(exact(y[d]));
+        BigDecimal ea = eax.multiply(eax).add(eay.multiply(eay));
+        BigDecimal eb = ebx.multiply(ebx).add(eby.multiply(eby));
+        BigDecimal ec = ecx.multiply(ecx).add(ecy.multiply(ecy));
+        return ea.multiply(ebx.multiply(ecy).subtract(ecx.multiply(eby)))
+                .add(eb.multiply(ecx.multiply(eay).subtract(eax.multiply(ecy))))
+                .add(ec.multiply(eax.multiply(eby).subtract(ebx.multiply(eay))))
+                .signum();
+    }
+
+    private static BigDecimal exact(double value) {
+        return new BigDecimal(value);
+    }
+
+    /**
+     * Growable flat array of endpoint pairs
+     */
+    private static final class EdgeSink {
+        private int[] pairs;
+        private int size;
+
+        EdgeSink(int expectedEdges) {
+            pairs = new int[2 * Math.max(expectedEdges, 4)];
+        }
+
+        void add(int from, int to) {
+            if (size + 2 > pairs.length) {
+                pairs = Arrays.copyOf(pairs, pairs.length * 2);
+            }
+            pairs[size++] = from;
+            pairs[size++] = to;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(pairs, size);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.transportation;
+
+import java.util.*;
+
+/**
+ * Array-based O(V^2 + E) variant of Prim's algorithm for dense graphs.
+ * Instead of a priority queue, each step scans the flat key array for the closest fringe
+ * vertex and then relaxes the CSR row of the new tree vertex. The min-scan is a sequential
+ * pass over a contiguous array. When the {@code jdk.incubator.vector} module is available and
+ * the {@code vector} build profile compiled {@code VectorPrimKernel}, it takes lane-wise minima
+ * without per-element branches; otherwise a scalar kernel compares and updates one key at a time.
+ * For dense graphs (E close to V^2/2) this beats the heap-based {@link PrimMST}, which pays
+ * O(log V) per decrease-key. Vertices without a candidate edge keep the key
+ * {@link Integer#MAX_VALUE}; parent links tell them apart from real edges of that weight.
+ */
+public class DensePrimMST {
+    /** Key of vertices in the tree or without a candidate edge, so they lose every min-scan. */
+    static final int NO_EDGE = Integer.MAX_VALUE;
+    private static final String VECTOR_KERNEL = "com.transportation.VectorPrimKernel";
+
+    private final Kernel kernel;
+
+    /**
+     * Creates an engine using the vector kernel when it is available
+     */
+    public DensePrimMST() {
+        this(true);
+    }
+
+    /**
+     * @param allowVector false to force the scalar kernel
+     */
+    public DensePrimMST(boolean allowVector) {
+        Kernel vector = allowVector ? loadVectorKernel() : null;
+        this.kernel = vector != null ? vector : new ScalarKernel();
+    }
+
+    /** @return true if the SIMD kernel is in use */
+    public boolean isVectorized() {
+        return !(kernel instanceof ScalarKernel);
+    }
+
+    /**
+     * Finds the Minimum Spanning Tree using the dense variant of Prim's algorithm
+     * @param graph the input graph
+     * @return MST result containing edges, cost, and performance metrics
+     */
+    public MSTResult findMST(Graph graph) {
+        return findMST(graph.toCompactGraph());
+    }
+
+    /**
+     * Finds the Minimum Spanning Tree using the dense variant of Prim's algorithm
+     * @param graph the compact input graph
+     * @return MST result containing edges, cost, and performance metrics
+     */
+    public MSTResult findMST(CompactGraph graph) {
+        try (MSTWorkspace workspace = MSTWorkspace.acquire()) {
+            return findMST(graph, workspace);
+        }
+    }
+
+    /**
+     * @param workspace supplies the key array, parent links and visited flags
+     */
+    MSTResult findMST(CompactGraph graph, MSTWorkspace workspace) {
+        long startTime = System.nanoTime();
+        long operations = 0;
+
+        int n = graph.getVertexCount();
+        List<Edge> mstEdges = new ArrayList<>(Math.max(n - 1, 0));
+        int totalCost = 0;
+
+        // Handle empty graph and single vertex graph
+        if (n <= 1) {
+            long executionTimeNanos = System.nanoTime() - startTime;
+            return new MSTResult(mstEdges, totalCost, operations, executionTimeNanos / 1_000_000, executionTimeNanos);
+        }
+
+        int[] key = workspace.vertexKeys(n);
+        int[] parent = workspace.parent(n);
+        boolean[] inTree = workspace.visited(n);
+        Arrays.fill(key, 0, n, NO_EDGE);
+        key[0] = 0;
+
+        int visited = 0;
+        while (visited < n) {
+            int u = kernel.argMin(key, n);
+            operations += n; // linear min-scan
+            if (key[u] == NO_EDGE) {
+                // Only candidates of weight MAX_VALUE may be left; they have a parent
+                u = firstCandidate(parent, inTree, n);
+                operations += n;
+                if (u < 0) {
+                    break; // remaining vertices are unreachable
+                }
+            }
+
+            if (parent[u] >= 0) {
+                mstEdges.add(graph.toEdge(parent[u], u, key[u]));
+                totalCost += key[u];
+            }
+            inTree[u] = true;
+            key[u] = NO_EDGE; // tree vertices never win the min-scan again
+            visited++;
+
+            for (int slot = graph.adjacencyStart(u), end = graph.adjacencyEnd(u); slot < end; slot++) {
+                int v = graph.neighborAt(slot);
+                int weight = graph.weightAt(slot);
+                operations++; // edge relaxation
+                if (!inTree[v] && (weight < key[v] || parent[v] < 0)) {
+                    key[v] = weight;
+                    parent[v] = u;
+                }
+            }
+        }
+
+        long executionTimeNanos = System.nanoTime() - startTime;
+
+        if (visited != n) {
+            System.out.println("Info: Graph is not connected. MST covers " +
+                    visited + " out of " + n + " vertices.");
+        }
+
+        return new MSTResult(mstEdges, totalCost, operations, executionTimeNanos / 1_000_000, executionTimeNanos);
+    }
+
+    /**
+     * @return the first fringe vertex, one with a parent that is not in the tree yet, or -1
+     */
+    private static int firstCandidate(int[] parent, boolean[] inTree, int n) {
+        for (int v = 0; v < n; v++) {
+            if (!inTree[v] && parent[v] >= 0) {
+                return v;
+            }
+        }
+        return -1;
+    }
+
+    private static Kernel loadVectorKernel() {
+        if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            return null;
+        }
+        try {
+            return (Kernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Built without the vector profile
+            return null;
+        }
+    }
+
+    /**
+     * The linear min-scan of dense Prim
+     */
+    interface Kernel {
+        /**
+         * @return the first index of the smallest key among {@code key[0..n-1]}
+         */
+        int argMin(int[] key, int n);
+    }
+
+    static final class ScalarKernel implements Kernel {
+        @Override
+        public int argMin(int[] key, int n) {
+            int best = 0;
+            for (int v = 1; v < n; v++) {
+                if (key[v] < key[best]) best = v;
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.transportation;
+
+/**
+ * Array-backed Union-Find (Disjoint Set Union) over element ids {@code 0..size-1}.
+ * Uses union by size and iterative path halving, so operations run in near-constant
+ * amortized time without recursion or allocation.
+ */
+public class DisjointSet {
+    private int[] parent;
+    private int[] size;
+    private int components;
+
+    public DisjointSet(int count) {
+        parent = new int[count];
+        size = new int[count];
+        reset(count);
+    }
+
+    /**
+     * Makes every element of {@code 0..count-1} a singleton set again, growing the arrays
+     * only when they are too small
+     */
+    public void reset(int count) {
+        if (parent.length < count) {
+            int length = MSTWorkspace.grownLength(parent.length, count);
+            parent = new int[length];
+            size = new int[length];
+        }
+        for (int i = 0; i < count; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        components = count;
+    }
+
+    /** @return the largest element count the arrays can hold without growing */
+    public int capacity() {
+        return parent.length;
+    }
+
+    /**
+     * Finds the representative of the set containing x, halving the path on the way
+     * @param x the element id
+     * @return the root of the set
+     */
+    public int find(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]]; // Path halving
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Finds the representative of the set containing x, reporting the find and every
+     * path-halving step to a probe
+     * @param x the element id
+     * @param probe receives find and compression events
+     * @return the root of the set
+     */
+    public int find(int x, MSTProbe probe) {
+        probe.find();
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]]; // Path halving
+            x = parent[x];
+            probe.compressionStep();
+        }
+        return x;
+    }
+
+    /**
+     * Finds the representative of the set containing x without modifying the structure.
+     * Safe to call from several threads as long as no thread is merging sets.
+     * @param x the element id
+     * @return the root of the set
+     */
+    public int findReadOnly(int x) {
+        while (parent[x] != x) {
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Merges the sets containing x and y
+     * @return true if the sets were distinct and have been merged
+     */
+    public boolean union(int x, int y) {
+        return unionRoots(find(x), find(y));
+    }
+
+    /**
+     * Merges two sets given their roots, avoiding repeated finds when the caller
+     * already has them
+     * @return true if the roots were distinct and have been merged
+     */
+    public boolean unionRoots(int rootX, int rootY) {
+        if (rootX == rootY) {
+            return false;
+        }
+        // Union by size
+        if (size[rootX] < size[rootY]) {
+            int tmp = rootX;
+            rootX = rootY;
+            rootY = tmp;
+        }
+        parent[rootY] = rootX;
+        size[rootX] += size[rootY];
+        components--;
+        return true;
+    }
+
+    public boolean connected(int x, int y) {
+        return find(x) == find(y);
+    }
+
+    /** Number of elements in the set containing x. */
+    public int sizeOf(int x) {
+        return size[find(x)];
+    }
+
+    public int getComponentCount() {
+        return components;
+    }
+}
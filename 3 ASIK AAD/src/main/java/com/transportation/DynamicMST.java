@@ -0,0 +1,325 @@
+package com.transportation;
+
+import java.util.*;
+
+/**
+ * Maintains a minimum spanning forest under edge insertions, deletions and weight updates,
+ * so small network changes do not require recomputing the whole tree.
+ * Tree edges are stored as nodes of a {@link LinkCutTree} whose value is the edge weight,
+ * which answers connectivity and heaviest-edge-on-path queries in O(log V) amortized time.
+ * Non-tree edges are kept in a set ordered by (weight, edge id).
+ *
+ * Costs per operation:
+ * - insertion, weight decrease, non-tree deletion and non-tree weight increase: O(log V + log E) amortized
+ * - deleting a tree edge or increasing its weight: the non-tree edges ordered after the old tree
+ *   edge are scanned in weight order until one reconnects the two halves, at O(log V) per
+ *   candidate. Lighter non-tree edges cannot cross the cut, since the forest was minimal, so they
+ *   are never visited. This is O(log V) when a light replacement exists and O(E log V) in the
+ *   worst case; there is no polylogarithmic bound for deletions (that needs the level structure
+ *   of Holm, de Lichtenberg and Thorup), so workloads dominated by tree-edge deletions on dense
+ *   graphs are better served by recomputing with a static engine.
+ *
+ * Edges are ordered by (weight, edge id), which makes the maintained forest unique for a
+ * given set of live edges regardless of the order in which updates arrived.
+ */
+public class DynamicMST {
+    private static final byte REMOVED = 0;
+    private static final byte TREE = 1;
+    private static final byte NON_TREE = 2;
+
+    private final LinkCutTree tree;
+    private final List<String> vertexNames = new ArrayList<>();
+    private final Map<String, Integer> vertexIds = new HashMap<>();
+    private int[] vertexNode;
+    private int[] nodeEdge = new int[16];
+
+    private int[] edgeFrom;
+    private int[] edgeTo;
+    private int[] edgeWeight;
+    private int[] edgeNode;
+    private byte[] edgeState;
+    private int edgeCount;
+
+    private final TreeSet<Long> nonTreeEdges = new TreeSet<>();
+    private int treeEdgeCount;
+    private long totalCost;
+    private long operations;
+
+    /**
+     * Builds the initial forest with Kruskal's algorithm.
+     * Edge ids are the positions of the edges in {@link Graph#getEdges()}.
+     * @param graph the initial graph
+     */
+    public DynamicMST(Graph graph) {
+        List<String> vertices = graph.getVertices();
+        List<Edge> edges = graph.getEdges();
+        int capacity = Math.max(edges.size(), 16);
+
+        tree = new LinkCutTree(vertices.size() + capacity);
+        vertexNode = new int[Math.max(vertices.size(), 16)];
+        edgeFrom = new int[capacity];
+        edgeTo = new int[capacity];
+        edgeWeight = new int[capacity];
+        edgeNode = new int[capacity];
+        edgeState = new byte[capacity];
+
+        for (String vertex : vertices) {
+            internVertex(vertex);
+        }
+        int[] weights = new int[edges.size()];
+        for (Edge edge : edges) {
+            int id = appendEdge(internVertex(edge.getFrom()), internVertex(edge.getTo()), edge.getWeight());
+            weights[id] = edge.getWeight();
+        }
+
+        operations += EdgeSort.estimateOperations(weights, weights.length);
+        DisjointSet uf = new DisjointSet(vertexNames.size());
+        for (int id : EdgeSort.sortByWeight(weights, weights.length)) {
+            operations += 2;
+            int root1 = uf.find(edgeFrom[id]);
+            int root2 = uf.find(edgeTo[id]);
+            if (root1 != root2) {
+                operations += 1;
+                uf.unionRoots(root1, root2);
+                linkTreeEdge(id);
+            } else {
+                addNonTreeEdge(id);
+            }
+        }
+    }
+
+    /**
+     * Adds an edge, replacing the heaviest edge of the cycle it closes if that edge is heavier.
+     * Unknown endpoints are added as new vertices.
+     * @return the id of the new edge
+     */
+    public int addEdge(String from, String to, int weight) {
+        int id = appendEdge(internVertex(from), internVertex(to), weight);
+        insert(id);
+        return id;
+    }
+
+    /**
+     * Removes an edge. If it was a tree edge, the lightest edge reconnecting the two halves
+     * takes its place.
+     * @param edgeId id returned by {@link #addEdge} or the initial edge position
+     */
+    public void removeEdge(int edgeId) {
+        checkLive(edgeId);
+        if (edgeState[edgeId] == TREE) {
+            long cutKey = key(edgeId);
+            cutTreeEdge(edgeId);
+            edgeState[edgeId] = REMOVED;
+            reconnect(cutKey);
+        } else {
+            nonTreeEdges.remove(key(edgeId));
+            edgeState[edgeId] = REMOVED;
+        }
+    }
+
+    /**
+     * Changes the weight of an edge and restores minimality
+     * @param edgeId id returned by {@link #addEdge} or the initial edge position
+     * @param weight the new weight
+     */
+    public void updateWeight(int edgeId, int weight) {
+        checkLive(edgeId);
+        int oldWeight = edgeWeight[edgeId];
+        if (edgeState[edgeId] == TREE) {
+            if (weight <= oldWeight) {
+                // A lighter tree edge stays in the tree
+                totalCost += weight - oldWeight;
+                edgeWeight[edgeId] = weight;
+                tree.setValue(edgeNode[edgeId], weight);
+                operations++;
+            } else {
+                // The edge competes with the non-tree edges across its own cut
+                long cutKey = key(edgeId);
+                cutTreeEdge(edgeId);
+                edgeWeight[edgeId] = weight;
+                tree.setValue(edgeNode[edgeId], weight);
+                addNonTreeEdge(edgeId);
+                reconnect(cutKey);
+            }
+        } else {
+            nonTreeEdges.remove(key(edgeId));
+            edgeWeight[edgeId] = weight;
+            tree.setValue(edgeNode[edgeId], weight);
+            if (weight < oldWeight) {
+                insert(edgeId);
+            } else {
+                addNonTreeEdge(edgeId);
+            }
+        }
+    }
+
+    public boolean isTreeEdge(int edgeId) {
+        return edgeId >= 0 && edgeId < edgeCount && edgeState[edgeId] == TREE;
+    }
+
+    public boolean connected(String from, String to) {
+        Integer u = vertexIds.get(from);
+        Integer v = vertexIds.get(to);
+        return u != null && v != null && tree.connected(vertexNode[u], vertexNode[v]);
+    }
+
+    /**
+     * Returns a snapshot of the current forest
+     * @return MST result with the accumulated operation count and no execution time
+     * @throws ArithmeticException if the total cost does not fit the int of {@link MSTResult}
+     */
+    public MSTResult toMSTResult() {
+        return new MSTResult(getTreeEdges(), Math.toIntExact(totalCost), operations, 0);
+    }
+
+    // Getters
+    public List<Edge> getTreeEdges() {
+        List<Edge> result = new ArrayList<>(treeEdgeCount);
+        for (int id = 0; id < edgeCount; id++) {
+            if (edgeState[id] == TREE) {
+                result.add(toEdge(id));
+            }
+        }
+        return result;
+    }
+
+    public Edge getEdge(int edgeId) {
+        checkLive(edgeId);
+        return toEdge(edgeId);
+    }
+
+    public long getTotalCost() { return totalCost; }
+    public int getTreeEdgeCount() { return treeEdgeCount; }
+    public int getVertexCount() { return vertexNames.size(); }
+    public long getOperationsCount() { return operations; }
+
+    /**
+     * Inserts a live edge that is currently in neither the tree nor the non-tree set
+     */
+    private void insert(int id) {
+        int u = vertexNode[edgeFrom[id]];
+        int v = vertexNode[edgeTo[id]];
+        operations++;
+        if (u == v) {
+            addNonTreeEdge(id);
+        } else if (!tree.connected(u, v)) {
+            linkTreeEdge(id);
+        } else {
+            operations++;
+            int heaviest = nodeEdge[tree.pathMax(u, v)];
+            if (heaviest >= 0 && precedes(id, heaviest)) {
+                cutTreeEdge(heaviest);
+                addNonTreeEdge(heaviest);
+                linkTreeEdge(id);
+            } else {
+                addNonTreeEdge(id);
+            }
+        }
+    }
+
+    /**
+     * Links the lightest non-tree edge whose endpoints lie in different trees, if any.
+     * Called after a single tree edge was cut, so at most one edge can be added.
+     * @param cutKey key of the cut edge before the change; every edge crossing the cut follows it
+     */
+    private void reconnect(long cutKey) {
+        for (Iterator<Long> it = nonTreeEdges.tailSet(cutKey, false).iterator(); it.hasNext(); ) {
+            int id = (int) it.next().longValue();
+            operations++;
+            if (!tree.connected(vertexNode[edgeFrom[id]], vertexNode[edgeTo[id]])) {
+                it.remove();
+                linkTreeEdge(id);
+                return;
+            }
+        }
+    }
+
+    private void linkTreeEdge(int id) {
+        int node = edgeNode[id];
+        tree.link(node, vertexNode[edgeFrom[id]]);
+        tree.link(node, vertexNode[edgeTo[id]]);
+        edgeState[id] = TREE;
+        treeEdgeCount++;
+        totalCost += edgeWeight[id];
+        operations++;
+    }
+
+    private void cutTreeEdge(int id) {
+        int node = edgeNode[id];
+        tree.cut(node, vertexNode[edgeFrom[id]]);
+        tree.cut(node, vertexNode[edgeTo[id]]);
+        edgeState[id] = NON_TREE;
+        treeEdgeCount--;
+        totalCost -= edgeWeight[id];
+        operations++;
+    }
+
+    private void addNonTreeEdge(int id) {
+        edgeState[id] = NON_TREE;
+        nonTreeEdges.add(key(id));
+    }
+
+    /**
+     * Orders edges by weight and then by id, matching the tie-breaking of the static engines
+     */
+    private boolean precedes(int a, int b) {
+        return edgeWeight[a] != edgeWeight[b] ? edgeWeight[a] < edgeWeight[b] : a < b;
+    }
+
+    private long key(int id) {
+        // The signed weight in the high half orders the keys; ids are non-negative
+        return (long) edgeWeight[id] << 32 | id;
+    }
+
+    private void recordNode(int node, int edgeId) {
+        if (node >= nodeEdge.length) {
+            nodeEdge = Arrays.copyOf(nodeEdge, Math.max(node + 1, nodeEdge.length * 2));
+        }
+        nodeEdge[node] = edgeId;
+    }
+
+    private int internVertex(String name) {
+        Integer id = vertexIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        int v = vertexNames.size();
+        if (v == vertexNode.length) {
+            vertexNode = Arrays.copyOf(vertexNode, v * 2);
+        }
+        vertexNames.add(name);
+        vertexIds.put(name, v);
+        vertexNode[v] = tree.addNode(Integer.MIN_VALUE);
+        recordNode(vertexNode[v], -1);
+        return v;
+    }
+
+    private int appendEdge(int from, int to, int weight) {
+        if (edgeCount == edgeFrom.length) {
+            int capacity = edgeCount * 2;
+            edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+            edgeTo = Arrays.copyOf(edgeTo, capacity);
+            edgeWeight = Arrays.copyOf(edgeWeight, capacity);
+            edgeNode = Arrays.copyOf(edgeNode, capacity);
+            edgeState = Arrays.copyOf(edgeState, capacity);
+        }
+        int id = edgeCount++;
+        edgeFrom[id] = from;
+        edgeTo[id] = to;
+        edgeWeight[id] = weight;
+        edgeNode[id] = tree.addNode(weight);
+        edgeState[id] = REMOVED;
+        recordNode(edgeNode[id], id);
+        return id;
+    }
+
+    private void checkLive(int edgeId) {
+        if (edgeId < 0 || edgeId >= edgeCount || edgeState[edgeId] == REMOVED) {
+            throw new IllegalArgumentException("No such edge: " + edgeId);
+        }
+    }
+
+    private Edge toEdge(int id) {
+        return new Edge(vertexNames.get(edgeFrom[id]), vertexNames.get(edgeTo[id]), edgeWeight[id]);
+    }
+}
@@ -0,0 +1,21 @@
+package com.transportation;
+
+/**
+ * Random-access view of a graph as a list of weighted edges between dense vertex ids.
+ * Implementations may keep edges on the Java heap, in a memory-mapped file or off-heap,
+ * and are read by the engines without materializing {@link Edge} objects.
+ */
+public interface EdgeList {
+
+    int getVertexCount();
+
+    long getEdgeCount();
+
+    String getVertexName(int vertex);
+
+    int from(long edge);
+
+    int to(long edge);
+
+    int weight(long edge);
+}
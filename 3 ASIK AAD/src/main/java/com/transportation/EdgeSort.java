@@ -0,0 +1,113 @@
+package com.transportation;
+
+import java.util.Arrays;
+
+/**
+ * Orders edge indices by weight without comparing {@link Edge} objects.
+ * Bounded integer weights (such as the 1..100 costs produced by {@link GraphGenerator})
+ * are bucketed with a stable counting sort in O(E + range); wider ranges fall back to
+ * a primitive sort of packed {@code weight << 32 | index} keys. Ties keep index order
+ * on both paths, so the resulting order is identical.
+ */
+public final class EdgeSort {
+    /** Widest weight range that is always bucketed, regardless of edge count. */
+    static final int MIN_COUNTING_RANGE = 1 << 12;
+    /** Hard cap on the bucket array so a few edges never allocate a huge histogram. */
+    static final int MAX_COUNTING_RANGE = 1 << 22;
+
+    private EdgeSort() {}
+
+    /**
+     * Sorts the first {@code count} edges by weight
+     * @param weights edge weights indexed by edge id
+     * @param count number of edges to sort
+     * @return edge ids in non-decreasing weight order
+     */
+    public static int[] sortByWeight(int[] weights, int count) {
+        int[] order = new int[count];
+        sortByWeight(weights, count, order, null);
+        return order;
+    }
+
+    /**
+     * Sorts the first {@code count} edges by weight into the sort buffers of a workspace
+     * @param weights edge weights indexed by edge id
+     * @param count number of edges to sort
+     * @param workspace supplies the order, bucket and key buffers
+     * @return edge ids in non-decreasing weight order in the first {@code count} entries
+     *         of a workspace buffer, which may be longer
+     */
+    static int[] sortByWeight(int[] weights, int count, MSTWorkspace workspace) {
+        int[] order = workspace.sortOrder(count);
+        sortByWeight(weights, count, order, workspace);
+        return order;
+    }
+
+    private static void sortByWeight(int[] weights, int count, int[] order, MSTWorkspace workspace) {
+        if (count == 0) {
+            return;
+        }
+
+        int min = weights[0];
+        int max = weights[0];
+        for (int e = 1; e < count; e++) {
+            int w = weights[e];
+            if (w < min) min = w;
+            if (w > max) max = w;
+        }
+
+        long range = (long) max - min + 1;
+        if (usesCountingSort(range, count)) {
+            int[] bucketStart = workspace != null ? workspace.sortBuckets((int) range + 1) : new int[(int) range + 1];
+            countingSort(weights, count, min, (int) range, order, bucketStart);
+        } else {
+            packedSort(weights, count, order, workspace != null ? workspace.sortKeys(count) : new long[count]);
+        }
+    }
+
+    /**
+     * Estimated number of elementary steps for sorting, used in operation counts
+     */
+    public static long estimateOperations(int[] weights, int count) {
+        if (count == 0) {
+            return 0;
+        }
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int e = 0; e < count; e++) {
+            min = Math.min(min, weights[e]);
+            max = Math.max(max, weights[e]);
+        }
+        long range = (long) max - min + 1;
+        if (usesCountingSort(range, count)) {
+            return count + range;
+        }
+        return count * (long) (Math.log(count) / Math.log(2));
+    }
+
+    static boolean usesCountingSort(long range, int count) {
+        return range <= MAX_COUNTING_RANGE && (range <= MIN_COUNTING_RANGE || range <= count);
+    }
+
+    private static void countingSort(int[] weights, int count, int min, int range, int[] order, int[] bucketStart) {
+        for (int e = 0; e < count; e++) {
+            bucketStart[weights[e] - min + 1]++;
+        }
+        for (int b = 0; b < range; b++) {
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        for (int e = 0; e < count; e++) {
+            order[bucketStart[weights[e] - min]++] = e;
+        }
+    }
+
+    private static void packedSort(int[] weights, int count, int[] order, long[] keys) {
+        for (int e = 0; e < count; e++) {
+            keys[e] = ((long) weights[e] << 32) | e;
+        }
+        Arrays.sort(keys, 0, count);
+        for (int i = 0; i < count; i++) {
+            order[i] = (int) keys[i];
+        }
+    }
+}
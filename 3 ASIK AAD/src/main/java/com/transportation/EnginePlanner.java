@@ -0,0 +1,479 @@
+package com.transportation;
+
+import java.io.*;
+import java.util.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Cost-model planner that picks the MST engine expected to finish first on a graph.
+ * Each engine's running time is modelled as a non-negative combination of terms from its
+ * complexity (for example {@code E log V} for heap-based Prim, {@code V^2} for dense Prim,
+ * the {@link EdgeSort} cost for Kruskal, which depends on the weight range). The coefficients
+ * are fitted to stored benchmark measurements by least squares on relative error, so small
+ * and large graphs weigh the same. Measurements come from {@link #calibrate(int, int)},
+ * which times the engines on this machine; without a local calibration {@link #heuristic()}
+ * supplies fixed default coefficients. Planners are immutable and thread-safe.
+ */
+public class EnginePlanner {
+    /** Engines the planner can choose from, as named in the output. */
+    public static final List<String> ENGINES = Collections.unmodifiableList(
+            Arrays.asList("prim", "dense-prim", "kruskal", "filter-kruskal", "boruvka"));
+    /** Calibration written by {@link #calibrate(int, int)} and preferred by {@link #loadDefault()}. */
+    public static final File LOCAL_CALIBRATION = new File("data/calibration.json");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Map<String, double[]> coefficients = new LinkedHashMap<>();
+    private final String source;
+
+    /**
+     * Fits the cost model of every engine that has at least one sample
+     * @param samples benchmark measurements
+     */
+    public EnginePlanner(List<Sample> samples) {
+        for (String engine : ENGINES) {
+            List<double[]> rows = new ArrayList<>();
+            List<Long> times = new ArrayList<>();
+            for (Sample sample : samples) {
+                if (sample.getEngine().equals(engine) && sample.getMedianNanos() > 0) {
+                    rows.add(features(engine, sample.getVertexCount(), sample.getEdgeCount(), sample.getWeightRange()));
+                    times.add(sample.getMedianNanos());
+                }
+            }
+            if (!rows.isEmpty()) {
+                coefficients.put(engine, fit(rows, times));
+            }
+        }
+        if (coefficients.isEmpty()) {
+            throw new IllegalArgumentException("No calibration samples for any engine");
+        }
+        this.source = "model fitted to " + samples.size() + " measurements";
+    }
+
+    private EnginePlanner(Map<String, double[]> coefficients, String source) {
+        this.coefficients.putAll(coefficients);
+        this.source = source;
+    }
+
+    /**
+     * Loads the local calibration if one was taken, otherwise falls back to {@link #heuristic()}
+     * @return planner fitted to the local measurements, or the default one
+     */
+    public static EnginePlanner loadDefault() throws IOException {
+        return LOCAL_CALIBRATION.isFile() ? load(LOCAL_CALIBRATION) : heuristic();
+    }
+
+    /**
+     * Planner with fixed coefficients, in nanoseconds per cost term of {@link #features}, rounded
+     * from a calibration of a desktop JVM. Absolute predictions are only indicative, but the
+     * ratios pick dense Prim for near-complete graphs and the heap and sort based engines
+     * otherwise. Run {@link #calibrate(int, int)} for choices fitted to this machine.
+     * @return the default planner
+     */
+    public static EnginePlanner heuristic() {
+        Map<String, double[]> defaults = new LinkedHashMap<>();
+        defaults.put("prim", new double[]{0, 7, 0, 1});
+        defaults.put("dense-prim", new double[]{4000, 1.2, 7});
+        defaults.put("kruskal", new double[]{0, 120, 6, 6.5});
+        defaults.put("filter-kruskal", new double[]{0, 110, 18, 0.25});
+        defaults.put("boruvka", new double[]{0, 170, 7.5});
+        return new EnginePlanner(defaults, "default size heuristics; run --calibrate to fit this machine");
+    }
+
+    /**
+     * @param file calibration file written by {@link #save(List, File)}
+     * @return planner fitted to the stored measurements
+     */
+    public static EnginePlanner load(File file) throws IOException {
+        return new EnginePlanner(readSamples(OBJECT_MAPPER.readTree(file)));
+    }
+
+    /**
+     * Chooses the engine with the lowest predicted time
+     * @param vertexCount number of vertices
+     * @param edgeCount number of edges
+     * @param weightRange {@code max - min + 1} over the edge weights, 0 without edges
+     * @return the choice with its reason and the predictions of all calibrated engines
+     */
+    public Plan plan(int vertexCount, long edgeCount, long weightRange) {
+        Map<String, Double> predictions = new LinkedHashMap<>();
+        for (String engine : coefficients.keySet()) {
+            predictions.put(engine, predictNanos(engine, vertexCount, edgeCount, weightRange));
+        }
+
+        List<Map.Entry<String, Double>> ranked = new ArrayList<>(predictions.entrySet());
+        ranked.sort(Map.Entry.comparingByValue());
+        String engine = ranked.get(0).getKey();
+        double density = density(vertexCount, edgeCount);
+
+        StringBuilder reason = new StringBuilder(String.format(Locale.ROOT,
+                "lowest predicted time %.3f ms for V=%d, E=%d, density=%.4f, weight range=%d",
+                ranked.get(0).getValue() / 1e6, vertexCount, edgeCount, density, weightRange));
+        if (ranked.size() > 1) {
+            reason.append(String.format(Locale.ROOT, "; runner-up %s at %.3f ms",
+                    ranked.get(1).getKey(), ranked.get(1).getValue() / 1e6));
+        }
+        reason.append(" (").append(source).append(")");
+        return new Plan(engine, reason.toString(), predictions, density, weightRange);
+    }
+
+    /**
+     * @return predicted execution time in nanoseconds
+     * @throws IllegalArgumentException if the engine was not calibrated
+     */
+    public double predictNanos(String engine, int vertexCount, long edgeCount, long weightRange) {
+        double[] c = coefficients.get(engine);
+        if (c == null) {
+            throw new IllegalArgumentException("Engine not calibrated: " + engine);
+        }
+        double[] f = features(engine, vertexCount, edgeCount, weightRange);
+        double nanos = 0;
+        for (int i = 0; i < f.length; i++) {
+            nanos += c[i] * f[i];
+        }
+        return nanos;
+    }
+
+    /** @return names of the engines with a fitted model */
+    public Set<String> getEngines() {
+        return Collections.unmodifiableSet(coefficients.keySet());
+    }
+
+    /**
+     * Cost terms of an engine; the model is a non-negative combination of them
+     */
+    static double[] features(String engine, int vertexCount, long edgeCount, long weightRange) {
+        double v = vertexCount;
+        double e = edgeCount;
+        switch (engine) {
+            case "prim":
+                return new double[]{1, v * log2(v), e, e * log2(v)};
+            case "dense-prim":
+                return new double[]{1, v * v, e};
+            case "kruskal":
+            case "filter-kruskal":
+                return new double[]{1, v, e, sortCost(edgeCount, weightRange)};
+            case "boruvka":
+                return new double[]{1, v, e * log2(v)};
+            default:
+                throw new IllegalArgumentException("Unknown engine: " + engine);
+        }
+    }
+
+    private static double sortCost(long edgeCount, long weightRange) {
+        if (EdgeSort.usesCountingSort(weightRange, (int) Math.min(edgeCount, Integer.MAX_VALUE))) {
+            return edgeCount + weightRange;
+        }
+        return edgeCount * log2(edgeCount);
+    }
+
+    private static double log2(double x) {
+        return Math.log(Math.max(x, 2)) / Math.log(2);
+    }
+
+    private static double density(int vertexCount, long edgeCount) {
+        return vertexCount < 2 ? 0 : 2.0 * edgeCount / ((double) vertexCount * (vertexCount - 1));
+    }
+
+    /**
+     * Non-negative least squares on relative error. The models have at most four terms,
+     * so every subset of terms is solved and the best non-negative solution is kept.
+     */
+    static double[] fit(List<double[]> rows, List<Long> times) {
+        int terms = rows.get(0).length;
+        double[] best = null;
+        double bestError = Double.POSITIVE_INFINITY;
+        for (int subset = 1; subset < 1 << terms; subset++) {
+            double[] c = solve(rows, times, subset, terms);
+            if (c == null) {
+                continue;
+            }
+            double error = 0;
+            for (int r = 0; r < rows.size(); r++) {
+                double predicted = 0;
+                for (int i = 0; i < terms; i++) {
+                    predicted += c[i] * rows.get(r)[i];
+                }
+                double relative = predicted / times.get(r) - 1;
+                error += relative * relative;
+            }
+            if (error < bestError) {
+                bestError = error;
+                best = c;
+            }
+        }
+        if (best == null) {
+            // Degenerate samples: fall back to the mean time as a constant
+            best = new double[terms];
+            for (long time : times) {
+                best[0] += (double) time / times.size();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Solves the normal equations of the relative-error problem restricted to the terms in
+     * {@code subset}, with columns scaled to unit norm
+     * @return coefficients, or null if the system is singular or a coefficient is negative
+     */
+    private static double[] solve(List<double[]> rows, List<Long> times, int subset, int terms) {
+        int[] columns = new int[Integer.bitCount(subset)];
+        for (int i = 0, k = 0; i < terms; i++) {
+            if ((subset & 1 << i) != 0) columns[k++] = i;
+        }
+        int k = columns.length;
+        if (k > rows.size()) {
+            return null;
+        }
+
+        double[] scale = new double[k];
+        for (int r = 0; r < rows.size(); r++) {
+            for (int j = 0; j < k; j++) {
+                double a = rows.get(r)[columns[j]] / times.get(r);
+                scale[j] += a * a;
+            }
+        }
+        for (int j = 0; j < k; j++) {
+            if (scale[j] == 0) return null;
+            scale[j] = Math.sqrt(scale[j]);
+        }
+
+        // Normal equations (A^T A) x = A^T 1 with A[r][j] = feature / time / scale
+        double[][] m = new double[k][k + 1];
+        for (int r = 0; r < rows.size(); r++) {
+            for (int i = 0; i < k; i++) {
+                double ai = rows.get(r)[columns[i]] / times.get(r) / scale[i];
+                for (int j = 0; j < k; j++) {
+                    m[i][j] += ai * rows.get(r)[columns[j]] / times.get(r) / scale[j];
+                }
+                m[i][k] += ai;
+            }
+        }
+        for (int p = 0; p < k; p++) {
+            int pivot = p;
+            for (int i = p + 1; i < k; i++) {
+                if (Math.abs(m[i][p]) > Math.abs(m[pivot][p])) pivot = i;
+            }
+            if (Math.abs(m[pivot][p]) < 1e-12) {
+                return null;
+            }
+            double[] swap = m[p]; m[p] = m[pivot]; m[pivot] = swap;
+            for (int i = 0; i < k; i++) {
+                if (i == p) continue;
+                double factor = m[i][p] / m[p][p];
+                for (int j = p; j <= k; j++) {
+                    m[i][j] -= factor * m[p][j];
+                }
+            }
+        }
+
+        double[] c = new double[terms];
+        for (int j = 0; j < k; j++) {
+            double x = m[j][k] / m[j][j] / scale[j];
+            if (x < 0) {
+                return null;
+            }
+            c[columns[j]] = x;
+        }
+        return c;
+    }
+
+    /**
+     * Times every engine on seeded uniform graphs spanning sparse to dense and narrow to
+     * wide weight ranges. Runs sequentially; takes a few seconds to a minute.
+     * @param warmupRuns discarded runs per engine and graph
+     * @param measuredRuns timed runs per engine and graph; the median is recorded
+     * @return one sample per engine and graph
+     */
+    public static List<Sample> calibrate(int warmupRuns, int measuredRuns) {
+        if (measuredRuns < 1) {
+            throw new IllegalArgumentException("At least one measured run is required");
+        }
+        int[] sizes = {100, 300, 1000, 2000};
+        double[] densities = {0.02, 0.1, 0.3, 0.7};
+        PrimMST prim = new PrimMST();
+        DensePrimMST densePrim = new DensePrimMST();
+        KruskalMST kruskal = new KruskalMST();
+        FilterKruskalMST filterKruskal = new FilterKruskalMST();
+        BoruvkaMST boruvka = new BoruvkaMST();
+
+        MSTEngine[] engines = {prim::findMST, densePrim::findMST, kruskal::findMST,
+                filterKruskal::findMST, boruvka::findMST};
+
+        // Compile the engines before the first sample so small graphs are not timed interpreted
+        CompactGraph warmup = toCompactGraph(GraphGenerator.generateGraph(0, 1000, 0.1, 42L), false);
+        for (int run = 0; run < 20; run++) {
+            for (MSTEngine engine : engines) {
+                engine.findMST(warmup);
+            }
+        }
+
+        List<Sample> samples = new ArrayList<>();
+        for (int vertexCount : sizes) {
+            for (double density : densities) {
+                GraphInput input = GraphGenerator.generateGraph(0, vertexCount, density, 42L + vertexCount);
+                for (boolean wideWeights : new boolean[]{false, true}) {
+                    CompactGraph graph = toCompactGraph(input, wideWeights);
+                    long weightRange = weightRange(graph);
+                    for (int i = 0; i < engines.length; i++) {
+                        long[] times = new long[measuredRuns];
+                        for (int run = -warmupRuns; run < measuredRuns; run++) {
+                            MSTResult result = engines[i].findMST(graph);
+                            if (run >= 0) {
+                                times[run] = result.getExecutionTimeNanos();
+                            }
+                        }
+                        long median = new TimingStats(warmupRuns, times).getMedian();
+                        samples.add(new Sample(ENGINES.get(i), vertexCount, graph.getEdgeCount(), weightRange, median));
+                    }
+                }
+                System.out.println("  calibrated V=" + vertexCount + ", density=" + density);
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * @return {@code max - min + 1} over the edge weights, 0 without edges
+     */
+    public static long weightRange(EdgeList edges) {
+        long count = edges.getEdgeCount();
+        if (count == 0) {
+            return 0;
+        }
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (long e = 0; e < count; e++) {
+            int w = edges.weight(e);
+            if (w < min) min = w;
+            if (w > max) max = w;
+        }
+        return (long) max - min + 1;
+    }
+
+    /**
+     * Same as {@link #weightRange(EdgeList)}, read straight from the CSR arrays; self-loops
+     * are skipped, as in {@link CompactGraph#toEdgeList()}
+     * @return {@code max - min + 1} over the edge weights, 0 without edges
+     */
+    public static long weightRange(CompactGraph graph) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int u = 0, n = graph.getVertexCount(); u < n; u++) {
+            for (int slot = graph.adjacencyStart(u), end = graph.adjacencyEnd(u); slot < end; slot++) {
+                if (graph.neighborAt(slot) != u) {
+                    int w = graph.weightAt(slot);
+                    if (w < min) min = w;
+                    if (w > max) max = w;
+                }
+            }
+        }
+        return min > max ? 0 : (long) max - min + 1;
+    }
+
+    private static CompactGraph toCompactGraph(GraphInput input, boolean wideWeights) {
+        Random rand = new Random(7);
+        CompactGraph.Builder builder = new CompactGraph.Builder(input.getNodes().size(), input.getEdges().size());
+        for (String node : input.getNodes()) {
+            builder.addVertex(node);
+        }
+        for (EdgeInput edge : input.getEdges()) {
+            int weight = wideWeights ? 1 + rand.nextInt(1_000_000_000) : edge.getWeight();
+            builder.addEdge(edge.getFrom(), edge.getTo(), weight);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Stores measurements for {@link #load(File)}
+     */
+    public static void save(List<Sample> samples, File file) throws IOException {
+        ObjectNode root = OBJECT_MAPPER.createObjectNode();
+        ArrayNode array = root.putArray("samples");
+        for (Sample sample : samples) {
+            ObjectNode node = array.addObject();
+            node.put("engine", sample.getEngine());
+            node.put("vertices", sample.getVertexCount());
+            node.put("edges", sample.getEdgeCount());
+            node.put("weight_range", sample.getWeightRange());
+            node.put("median_ns", sample.getMedianNanos());
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, root);
+    }
+
+    private static List<Sample> readSamples(JsonNode root) {
+        List<Sample> samples = new ArrayList<>();
+        for (JsonNode node : root.path("samples")) {
+            samples.add(new Sample(node.get("engine").asText(), node.get("vertices").asInt(),
+                    node.get("edges").asLong(), node.get("weight_range").asLong(), node.get("median_ns").asLong()));
+        }
+        return samples;
+    }
+
+    /**
+     * Engine entry point on a compact graph, in {@link #ENGINES} order during calibration
+     */
+    private interface MSTEngine {
+        MSTResult findMST(CompactGraph graph);
+    }
+
+    /**
+     * One benchmark measurement: the median time of an engine on a graph of the given shape
+     */
+    public static class Sample {
+        private final String engine;
+        private final int vertexCount;
+        private final long edgeCount;
+        private final long weightRange;
+        private final long medianNanos;
+
+        public Sample(String engine, int vertexCount, long edgeCount, long weightRange, long medianNanos) {
+            this.engine = engine;
+            this.vertexCount = vertexCount;
+            this.edgeCount = edgeCount;
+            this.weightRange = weightRange;
+            this.medianNanos = medianNanos;
+        }
+
+        // Getters
+        public String getEngine() { return engine; }
+        public int getVertexCount() { return vertexCount; }
+        public long getEdgeCount() { return edgeCount; }
+        public long getWeightRange() { return weightRange; }
+        public long getMedianNanos() { return medianNanos; }
+    }
+
+    /**
+     * The engine chosen for one graph and why
+     */
+    public static class Plan {
+        private final String engine;
+        private final String reason;
+        private final Map<String, Double> predictedNanos;
+        private final double density;
+        private final long weightRange;
+
+        Plan(String engine, String reason, Map<String, Double> predictedNanos, double density, long weightRange) {
+            this.engine = engine;
+            this.reason = reason;
+            this.predictedNanos = Collections.unmodifiableMap(predictedNanos);
+            this.density = density;
+            this.weightRange = weightRange;
+        }
+
+        // Getters
+        public String getEngine() { return engine; }
+        public String getReason() { return reason; }
+        public Map<String, Double> getPredictedNanos() { return predictedNanos; }
+        public double getDensity() { return density; }
+        public long getWeightRange() { return weightRange; }
+    }
+}
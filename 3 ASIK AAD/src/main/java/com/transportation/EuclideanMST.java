@@ -0,0 +1,100 @@
+package com.transportation;
+
+import java.util.List;
+
+/**
+ * Minimum spanning tree of points in the plane, where every pair of points is implicitly
+ * joined by an edge weighted with their distance.
+ * The complete graph is never built: every Euclidean MST is contained in the Delaunay
+ * triangulation, so Kruskal's algorithm runs on its at most 3V - 6 edges, for O(V log V)
+ * in total instead of O(V^2).
+ * Weights are distances rounded to the nearest integer, so coordinates should be given in the
+ * unit the costs are counted in (e.g. metres). Rounding never reorders edges, so the tree is
+ * also minimal for the rounded complete graph.
+ */
+public class EuclideanMST {
+    private final KruskalMST kruskal = new KruskalMST();
+
+    /**
+     * Finds the Euclidean Minimum Spanning Tree of a geometric graph
+     * @param graph graph input with coordinates; its edge list is not used
+     * @return MST result; the time includes the triangulation
+     */
+    public MSTResult findMST(GraphInput graph) {
+        return findMST(graph.getNodes(), axis(graph, 0), axis(graph, 1));
+    }
+
+    /**
+     * Finds the Euclidean Minimum Spanning Tree of named points
+     * @param names point names, unique
+     * @param x x coordinates
+     * @param y y coordinates
+     * @return MST result; the time includes the triangulation
+     */
+    public MSTResult findMST(List<String> names, double[] x, double[] y) {
+        long startTime = System.nanoTime();
+        CompactGraph graph = toGraph(names, x, y);
+        MSTResult result = kruskal.findMST(graph);
+
+        long executionTimeNanos = System.nanoTime() - startTime;
+        return new MSTResult(result.getMstEdges(), result.getTotalCost(),
+                names.size() + result.getOperationsCount(), executionTimeNanos / 1_000_000, executionTimeNanos);
+    }
+
+    /**
+     * Builds the sparse graph of Delaunay edges weighted by rounded distance. Any MST engine
+     * run on it yields a Euclidean MST.
+     * @param names point names, unique
+     * @param x x coordinates
+     * @param y y coordinates
+     * @return the Delaunay graph, with zero-weight edges joining repeated points
+     */
+    public static CompactGraph toGraph(List<String> names, double[] x, double[] y) {
+        if (names.size() != x.length) {
+            throw new IllegalArgumentException("Expected " + names.size() + " points but got " + x.length);
+        }
+        int[] pairs = DelaunayTriangulation.edges(x, y);
+
+        CompactGraph.Builder builder = new CompactGraph.Builder(names.size(), pairs.length / 2);
+        for (String name : names) {
+            builder.addVertex(name);
+        }
+        if (builder.getVertexCount() != names.size()) {
+            throw new IllegalArgumentException("Point names are not unique");
+        }
+        for (int i = 0; i < pairs.length; i += 2) {
+            int u = pairs[i];
+            int v = pairs[i + 1];
+            builder.addEdge(u, v, distance(x[u] - x[v], y[u] - y[v]));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builds the Delaunay graph of a geometric graph input
+     * @param graph graph input with coordinates; its edge list is not used
+     * @return the Delaunay graph weighted by rounded distance
+     */
+    public static CompactGraph toGraph(GraphInput graph) {
+        return toGraph(graph.getNodes(), axis(graph, 0), axis(graph, 1));
+    }
+
+    private static double[] axis(GraphInput graph, int axis) {
+        List<double[]> coordinates = graph.getCoordinates();
+        if (coordinates == null) {
+            throw new IllegalArgumentException("Graph " + graph.getId() + " has no coordinates");
+        }
+        double[] values = new double[coordinates.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = coordinates.get(i)[axis];
+        }
+        return values;
+    }
+
+    /**
+     * @return the length of the vector (dx, dy) rounded to the nearest integer
+     */
+    static int distance(double dx, double dy) {
+        return Math.toIntExact(Math.round(Math.sqrt(dx * dx + dy * dy)));
+    }
+}
@@ -0,0 +1,329 @@
+package com.transportation;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Out-of-core variant of Kruskal's algorithm for graphs whose edges do not fit on the heap.
+ * Edges are streamed from an {@link EdgeList} (typically a memory-mapped {@link MappedGraph})
+ * in buffer-sized batches; each batch is sorted and written to a temporary run file, and the
+ * runs are k-way merged straight into a {@link DisjointSet}. Memory use is O(V) plus the
+ * configured buffer, independent of the edge count: a merge reads at most {@link #MAX_FAN_IN}
+ * runs at once through read buffers carved out of the same budget, so inputs with more runs
+ * are first merged in several passes into fewer, longer runs.
+ * Batches hold consecutive edge ids and are sorted stably, and every merge combines
+ * consecutive runs and breaks weight ties by run, so edges are processed in the same order
+ * as {@link KruskalMST}.
+ */
+public class ExternalKruskalMST {
+    private static final int RECORD_BYTES = 12;
+    private static final int DEFAULT_BUFFER_EDGES = 1 << 22;
+    /** Most run files open in one merge, which bounds file handles as well as read buffers. */
+    static final int MAX_FAN_IN = 64;
+    /** Smallest useful read buffer; with less budget per reader the fan-in shrinks instead. */
+    private static final int MIN_READ_BUFFER = 1 << 13;
+
+    private final int bufferEdges;
+    private final File tempDirectory;
+
+    public ExternalKruskalMST() {
+        this(DEFAULT_BUFFER_EDGES, null);
+    }
+
+    /**
+     * @param bufferEdges number of edges sorted in memory per run
+     * @param tempDirectory directory for run files, or null for the system default
+     */
+    public ExternalKruskalMST(int bufferEdges, File tempDirectory) {
+        if (bufferEdges < 1) {
+            throw new IllegalArgumentException("Buffer must hold at least one edge");
+        }
+        this.bufferEdges = bufferEdges;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Finds the Minimum Spanning Tree using external-memory Kruskal
+     * @param graph the input graph
+     * @return MST result containing edges, cost, and performance metrics
+     */
+    public MSTResult findMST(Graph graph) {
+        return findMST(graph.toEdgeList());
+    }
+
+    /**
+     * Finds the Minimum Spanning Tree by sorting edges into runs on disk and merging them
+     * @param edges the input edges, read sequentially once
+     * @return MST result containing edges, cost, and performance metrics
+     * @throws UncheckedIOException if the run files cannot be written or read
+     */
+    public MSTResult findMST(EdgeList edges) {
+        long startTime = System.nanoTime();
+        long operations = 0;
+
+        List<Edge> mstEdges = new ArrayList<>();
+        int totalCost = 0;
+        int n = edges.getVertexCount();
+
+        // Handle empty graph and single vertex graph
+        if (n <= 1) {
+            long executionTimeNanos = System.nanoTime() - startTime;
+            return new MSTResult(mstEdges, totalCost, operations, executionTimeNanos / 1_000_000, executionTimeNanos);
+        }
+
+        List<Path> runs = new ArrayList<>();
+        try {
+            operations += writeSortedRuns(edges, runs);
+            operations += mergePasses(runs);
+
+            DisjointSet uf = new DisjointSet(n);
+            RunMerger merger = new RunMerger(runs, readBufferBytes(runs.size()));
+            try {
+                while (mstEdges.size() < n - 1 && merger.advance()) {
+                    operations++; // merge step
+                    int from = merger.from;
+                    int to = merger.to;
+
+                    // Count find operations (2 per edge)
+                    operations += 2;
+                    int root1 = uf.find(from);
+                    int root2 = uf.find(to);
+
+                    if (root1 != root2) {
+                        mstEdges.add(new Edge(edges.getVertexName(from), edges.getVertexName(to), merger.weight));
+                        totalCost += merger.weight;
+
+                        // Count union operation
+                        operations += 1;
+                        uf.unionRoots(root1, root2);
+                    }
+                }
+            } finally {
+                merger.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("External Kruskal failed: " + e.getMessage(), e);
+        } finally {
+            for (Path run : runs) {
+                try {
+                    Files.deleteIfExists(run);
+                } catch (IOException ignored) {
+                    // Best effort; the file lives in a temp directory
+                }
+            }
+        }
+
+        long executionTimeNanos = System.nanoTime() - startTime;
+
+        if (mstEdges.size() != n - 1) {
+            System.out.println("Info: Graph is not connected. MST covers " +
+                    (mstEdges.size() + 1) + " out of " + n + " vertices.");
+        }
+
+        return new MSTResult(mstEdges, totalCost, operations, executionTimeNanos / 1_000_000, executionTimeNanos);
+    }
+
+    /**
+     * Reads edges batch by batch, sorts each batch by weight and spills it as a run file
+     * @return estimated sorting operations
+     */
+    private long writeSortedRuns(EdgeList edges, List<Path> runs) throws IOException {
+        long edgeCount = edges.getEdgeCount();
+        int capacity = (int) Math.min(bufferEdges, Math.max(edgeCount, 1));
+        int[] from = new int[capacity];
+        int[] to = new int[capacity];
+        int[] weight = new int[capacity];
+        long operations = 0;
+
+        for (long start = 0; start < edgeCount; start += capacity) {
+            int count = (int) Math.min(capacity, edgeCount - start);
+            for (int i = 0; i < count; i++) {
+                from[i] = edges.from(start + i);
+                to[i] = edges.to(start + i);
+                weight[i] = edges.weight(start + i);
+            }
+
+            operations += EdgeSort.estimateOperations(weight, count);
+            int[] order = EdgeSort.sortByWeight(weight, count);
+
+            Path run = createRunFile();
+            runs.add(run);
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(run), readBufferBytes(fanIn())))) {
+                for (int i : order) {
+                    out.writeInt(weight[i]);
+                    out.writeInt(from[i]);
+                    out.writeInt(to[i]);
+                }
+            }
+        }
+        return operations;
+    }
+
+    /**
+     * Merges groups of consecutive runs into single runs until at most one merge's worth remains
+     * @param runs sorted runs in edge-id order; replaced by the merged runs
+     * @return merge steps performed
+     */
+    private long mergePasses(List<Path> runs) throws IOException {
+        int fanIn = fanIn();
+        long operations = 0;
+        while (runs.size() > fanIn) {
+            List<Path> merged = new ArrayList<>();
+            try {
+                for (int start = 0; start < runs.size(); start += fanIn) {
+                    List<Path> group = runs.subList(start, Math.min(runs.size(), start + fanIn));
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                    } else {
+                        Path run = createRunFile();
+                        merged.add(run);
+                        operations += mergeInto(group, run);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // The caller only knows about the input runs
+                Set<Path> inputs = new HashSet<>(runs);
+                for (Path run : merged) {
+                    if (!inputs.contains(run)) {
+                        Files.deleteIfExists(run);
+                    }
+                }
+                throw e;
+            }
+            Set<Path> kept = new HashSet<>(merged);
+            for (Path run : runs) {
+                if (!kept.contains(run)) {
+                    Files.deleteIfExists(run);
+                }
+            }
+            runs.clear();
+            runs.addAll(merged);
+        }
+        return operations;
+    }
+
+    /**
+     * Writes the merge of several runs to a new run; the writer takes one reader's share of the budget
+     * @return merge steps performed
+     */
+    private long mergeInto(List<Path> group, Path run) throws IOException {
+        long operations = 0;
+        int bufferBytes = readBufferBytes(group.size() + 1);
+        try (RunMerger merger = new RunMerger(group, bufferBytes);
+             DataOutputStream out = new DataOutputStream(
+                     new BufferedOutputStream(Files.newOutputStream(run), bufferBytes))) {
+            while (merger.advance()) {
+                operations++;
+                out.writeInt(merger.weight);
+                out.writeInt(merger.from);
+                out.writeInt(merger.to);
+            }
+        }
+        return operations;
+    }
+
+    /**
+     * @return runs merged at once: as many as the budget gives a minimal read buffer each,
+     *         between 2 and {@link #MAX_FAN_IN}
+     */
+    int fanIn() {
+        long budget = (long) bufferEdges * RECORD_BYTES;
+        return (int) Math.max(2, Math.min(MAX_FAN_IN, budget / MIN_READ_BUFFER - 1));
+    }
+
+    /**
+     * @return the budget split evenly over the open streams, at least one record each
+     */
+    private int readBufferBytes(int streams) {
+        long share = (long) bufferEdges * RECORD_BYTES / Math.max(streams, 1);
+        return (int) Math.max(RECORD_BYTES, Math.min(1 << 20, share));
+    }
+
+    private Path createRunFile() throws IOException {
+        return tempDirectory == null
+                ? Files.createTempFile("mst-run-", ".bin")
+                : Files.createTempFile(tempDirectory.toPath(), "mst-run-", ".bin");
+    }
+
+    /**
+     * K-way merge over sorted run files, ordered by weight and then run number
+     */
+    private static class RunMerger implements Closeable {
+        private final DataInputStream[] inputs;
+        private final long[] remaining;
+        private final int[] headWeight;
+        private final int[] headFrom;
+        private final int[] headTo;
+        private final PriorityQueue<Integer> heads;
+
+        int weight;
+        int from;
+        int to;
+
+        RunMerger(List<Path> runs, int readBuffer) throws IOException {
+            int k = runs.size();
+            inputs = new DataInputStream[k];
+            remaining = new long[k];
+            headWeight = new int[k];
+            headFrom = new int[k];
+            headTo = new int[k];
+            heads = new PriorityQueue<>(Math.max(k, 1), (a, b) -> headWeight[a] != headWeight[b]
+                    ? Integer.compare(headWeight[a], headWeight[b])
+                    : Integer.compare(a, b));
+
+            try {
+                for (int r = 0; r < k; r++) {
+                    inputs[r] = new DataInputStream(new BufferedInputStream(Files.newInputStream(runs.get(r)), readBuffer));
+                    remaining[r] = Files.size(runs.get(r)) / RECORD_BYTES;
+                    if (readHead(r)) {
+                        heads.add(r);
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        /**
+         * Moves to the next smallest edge of all runs
+         * @return false when every run is exhausted
+         */
+        boolean advance() throws IOException {
+            Integer run = heads.poll();
+            if (run == null) {
+                return false;
+            }
+            weight = headWeight[run];
+            from = headFrom[run];
+            to = headTo[run];
+            if (readHead(run)) {
+                heads.add(run);
+            }
+            return true;
+        }
+
+        private boolean readHead(int run) throws IOException {
+            if (remaining[run] == 0) {
+                return false;
+            }
+            remaining[run]--;
+            headWeight[run] = inputs[run].readInt();
+            headFrom[run] = inputs[run].readInt();
+            headTo[run] = inputs[run].readInt();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (DataInputStream input : inputs) {
+                if (input != null) {
+                    input.close();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.transportation;
+
+import java.util.*;
+
+/**
+ * Filter-Kruskal variant of Kruskal's algorithm.
+ * Edges are partitioned around a pivot quickselect-style; the light half is solved
+ * recursively, then heavy edges whose endpoints are already connected are filtered out
+ * before the heavy half is processed. On dense graphs most heavy edges are discarded
+ * without ever being sorted.
+ * Edges are keyed by {@code weight << 32 | index}, so the processing order (and thus the
+ * tree) is the same as in {@link KruskalMST}.
+ */
+public class FilterKruskalMST {
+    private static final int BASE_CASE_SIZE = 512;
+
+    /**
+     * Finds the Minimum Spanning Tree using Filter-Kruskal
+     * @param graph the input graph
+     * @return MST result containing edges, cost, and performance metrics
+     */
+    public MSTResult findMST(Graph graph) {
+        return findMST(graph.toCompactGraph());
+    }
+
+    /**
+     * Finds the Minimum Spanning Tree using Filter-Kruskal over the CSR arrays
+     * @param graph the compact input graph
+     * @return MST result containing edges, cost, and performance metrics
+     */
+    public MSTResult findMST(CompactGraph graph) {
+        try (MSTWorkspace workspace = MSTWorkspace.acquire()) {
+            return findMST(graph, workspace);
+        }
+    }
+
+    /**
+     * @param workspace supplies the edge arrays, sort keys and union-find arrays
+     */
+    MSTResult findMST(CompactGraph graph, MSTWorkspace workspace) {
+        long startTime = System.nanoTime();
+
+        int n = graph.getVertexCount();
+
+        // Handle empty graph and single vertex graph
+        if (n <= 1) {
+            long executionTimeNanos = System.nanoTime() - startTime;
+            return new MSTResult(new ArrayList<>(), 0, 0, executionTimeNanos / 1_000_000, executionTimeNanos);
+        }
+
+        int m = workspace.collectEdges(graph);
+        int[] from = workspace.edgeFrom();
+        int[] to = workspace.edgeTo();
+        int[] weight = workspace.edgeWeight();
+
+        long[] keys = workspace.sortKeys(m);
+        for (int e = 0; e < m; e++) {
+            keys[e] = ((long) weight[e] << 32) | e;
+        }
+
+        Run run = new Run(graph, from, to, weight, keys, workspace.disjointSet(n));
+        int maxDepth = 2 * (32 - Integer.numberOfLeadingZeros(Math.max(m, 1)));
+        run.filterKruskal(0, m, maxDepth);
+
+        long executionTimeNanos = System.nanoTime() - startTime;
+
+        if (run.mstEdges.size() != n - 1) {
+            System.out.println("Info: Graph is not connected. MST covers " +
+                    (run.mstEdges.size() + 1) + " out of " + n + " vertices.");
+        }
+
+        return new MSTResult(run.mstEdges, run.totalCost, run.operations, executionTimeNanos / 1_000_000, executionTimeNanos);
+    }
+
+    /**
+     * State of a single Filter-Kruskal run
+     */
+    private static class Run {
+        private final CompactGraph graph;
+        private final int[] from;
+        private final int[] to;
+        private final int[] weight;
+        private final long[] keys;
+        private final DisjointSet uf;
+        private final int treeSize;
+
+        private final List<Edge> mstEdges;
+        private int totalCost;
+        private long operations;
+
+        Run(CompactGraph graph, int[] from, int[] to, int[] weight, long[] keys, DisjointSet uf) {
+            this.graph = graph;
+            this.from = from;
+            this.to = to;
+            this.weight = weight;
+            this.keys = keys;
+            this.uf = uf;
+            this.treeSize = graph.getVertexCount() - 1;
+            this.mstEdges = new ArrayList<>(treeSize);
+        }
+
+        void filterKruskal(int lo, int hi, int depth) {
+            while (hi - lo > 0 && mstEdges.size() < treeSize) {
+                if (hi - lo <= BASE_CASE_SIZE || depth-- == 0) {
+                    kruskal(lo, hi);
+                    return;
+                }
+
+                int split = partition(lo, hi);
+                filterKruskal(lo, split, depth);
+                if (mstEdges.size() == treeSize) return;
+
+                hi = filter(split, hi);
+                lo = split;
+            }
+        }
+
+        /**
+         * Plain Kruskal over a key range: sort, then scan
+         */
+        private void kruskal(int lo, int hi) {
+            int size = hi - lo;
+            Arrays.sort(keys, lo, hi);
+            operations += size * (long) (Math.log(Math.max(size, 2)) / Math.log(2));
+
+            for (int i = lo; i < hi && mstEdges.size() < treeSize; i++) {
+                int e = (int) keys[i];
+
+                // Count find operations (2 per edge)
+                operations += 2;
+                int root1 = uf.find(from[e]);
+                int root2 = uf.find(to[e]);
+
+                if (root1 != root2) {
+                    mstEdges.add(graph.toEdge(from[e], to[e], weight[e]));
+                    totalCost += weight[e];
+
+                    // Count union operation
+                    operations += 1;
+                    uf.unionRoots(root1, root2);
+                }
+            }
+        }
+
+        /**
+         * Moves keys not greater than a median-of-three pivot to the front of the range.
+         * The median of three distinct keys is never the maximum, so the heavy part
+         * is non-empty and every step makes progress.
+         * @return the start of the heavy part
+         */
+        private int partition(int lo, int hi) {
+            long pivot = median(keys[lo], keys[lo + (hi - lo) / 2], keys[hi - 1]);
+            int split = lo;
+            for (int i = lo; i < hi; i++) {
+                long key = keys[i];
+                if (key <= pivot) {
+                    keys[i] = keys[split];
+                    keys[split++] = key;
+                }
+            }
+            operations += hi - lo;
+            return split;
+        }
+
+        /**
+         * Drops edges whose endpoints are already connected
+         * @return the new end of the range
+         */
+        private int filter(int lo, int hi) {
+            int kept = lo;
+            for (int i = lo; i < hi; i++) {
+                int e = (int) keys[i];
+                operations += 2;
+                if (uf.find(from[e]) != uf.find(to[e])) {
+                    keys[kept++] = keys[i];
+                }
+            }
+            return kept;
+        }
+
+        private static long median(long a, long b, long c) {
+            return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+        }
+    }
+}
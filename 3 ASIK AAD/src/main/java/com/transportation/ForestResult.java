@@ -0,0 +1,68 @@
+package com.transportation;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Minimum spanning forest of a possibly disconnected graph: the combined edges and cost of
+ * every connected component, plus a per-component breakdown.
+ * Components are ordered by their lowest vertex id; isolated vertices are components
+ * with an empty tree.
+ */
+public class ForestResult extends MSTResult {
+    private final List<Component> components;
+
+    /**
+     * @param mstEdges edges of all component trees, in component order
+     * @param components per-component results
+     */
+    public ForestResult(List<Edge> mstEdges, int totalCost, long operationsCount,
+                        long executionTime, long executionTimeNanos, TimingStats timingStats,
+                        List<Component> components) {
+        super(mstEdges, totalCost, operationsCount, executionTime, executionTimeNanos, timingStats);
+        this.components = Collections.unmodifiableList(components);
+    }
+
+    @Override
+    public ForestResult withTimingStats(TimingStats timingStats) {
+        return new ForestResult(getMstEdges(), getTotalCost(), getOperationsCount(),
+                getExecutionTime(), getExecutionTimeNanos(), timingStats, components);
+    }
+
+    public boolean isConnected() {
+        return components.size() <= 1;
+    }
+
+    // Getters
+    public List<Component> getComponents() { return components; }
+    public int getComponentCount() { return components.size(); }
+
+    /**
+     * Spanning tree of one connected component
+     */
+    public static class Component {
+        private final int index;
+        private final String root;
+        private final int vertexCount;
+        private final MSTResult result;
+
+        /**
+         * @param index position of the component in the forest
+         * @param root name of the lowest-id vertex of the component
+         * @param vertexCount vertices in the component
+         * @param result the component's spanning tree
+         */
+        public Component(int index, String root, int vertexCount, MSTResult result) {
+            this.index = index;
+            this.root = root;
+            this.vertexCount = vertexCount;
+            this.result = result;
+        }
+
+        // Getters
+        public int getIndex() { return index; }
+        public String getRoot() { return root; }
+        public int getVertexCount() { return vertexCount; }
+        public MSTResult getResult() { return result; }
+    }
+}
@@ -5,14 +5,49 @@ import java.util.*;
 /**
  * Represents a weighted undirected graph for city transportation networks.
  * Vertices represent city districts, edges represent potential roads with construction costs.
+ * Vertex names are interned in a hash-based symbol table, so adding a vertex is O(1) and
+ * every edge shares the name instances of its endpoints. Edge endpoints must be added as
+ * vertices first, unless the graph is loaded through {@link Builder#autoAddVertices()}.
+ * After {@link #build()} the graph is read-only.
+ * Graphs created with {@link #offHeap()} keep their edges as id triples in an
+ * {@link OffHeapEdgeList} instead of {@link Edge} objects, for edge counts that exceed
+ * the heap or the array size limit; engines read them through {@link #toEdgeList()}.
  */
 public class Graph {
-    private List<String> vertices;
-    private List<Edge> edges;
+    private final ArrayList<String> vertices;
+    private final ArrayList<Edge> edges;
+    private final OffHeapEdgeList offHeapEdges;
+    private final Map<String, Integer> vertexIds;
+    private CompactGraph compact;
+    private boolean frozen;
+    private boolean autoAddVertices;
 
     public Graph() {
-        this.vertices = new ArrayList<>();
-        this.edges = new ArrayList<>();
+        this(16, 16);
+    }
+
+    /**
+     * Creates an empty graph with storage pre-sized for the expected number of elements
+     * @param expectedVertices expected number of vertices
+     * @param expectedEdges expected number of edges
+     */
+    public Graph(int expectedVertices, int expectedEdges) {
+        this(expectedVertices, expectedEdges, false);
+    }
+
+    private Graph(int expectedVertices, int expectedEdges, boolean offHeap) {
+        this.vertices = new ArrayList<>(expectedVertices);
+        this.edges = offHeap ? null : new ArrayList<>(expectedEdges);
+        this.offHeapEdges = offHeap ? new OffHeapEdgeList(vertices) : null;
+        this.vertexIds = new HashMap<>(Math.max(16, (int) (expectedVertices / 0.75f) + 1));
+    }
+
+    /**
+     * Creates an empty graph that stores its edges off the Java heap
+     * @return the graph
+     */
+    public static Graph offHeap() {
+        return new Graph(16, 0, true);
     }
 
     /**
@@ -20,8 +55,19 @@ public class Graph {
      * @param vertex the vertex to add
      */
     public void addVertex(String vertex) {
-        if (!vertices.contains(vertex)) {
-            vertices.add(vertex);
+        checkMutable();
+        intern(vertex);
+    }
+
+    /**
+     * Adds all vertices of a collection, skipping names that are already present
+     * @param names the vertices to add
+     */
+    public void addVertices(Collection<String> names) {
+        checkMutable();
+        vertices.ensureCapacity(vertices.size() + names.size());
+        for (String name : names) {
+            intern(name);
         }
     }
 
@@ -30,30 +76,230 @@ public class Graph {
      * @param from the starting vertex
      * @param to the ending vertex
      * @param weight the construction cost
+     * @throws IllegalArgumentException if an endpoint is not a vertex and vertices are not added automatically
      */
     public void addEdge(String from, String to, int weight) {
-        edges.add(new Edge(from, to, weight));
+        checkMutable();
+        int u = endpoint(from);
+        int v = endpoint(to);
+        if (offHeapEdges != null) {
+            offHeapEdges.add(u, v, weight);
+        } else {
+            edges.add(new Edge(vertices.get(u), vertices.get(v), weight));
+        }
+        compact = null;
+    }
+
+    /**
+     * Adds all edges of a collection, interning their endpoints
+     * @param newEdges the edges to add
+     * @throws IllegalArgumentException if an endpoint is not a vertex and vertices are not added automatically
+     */
+    public void addEdges(Collection<Edge> newEdges) {
+        checkMutable();
+        if (offHeapEdges != null) {
+            for (Edge edge : newEdges) {
+                offHeapEdges.add(endpoint(edge.getFrom()), endpoint(edge.getTo()), edge.getWeight());
+            }
+        } else {
+            edges.ensureCapacity(edges.size() + newEdges.size());
+            for (Edge edge : newEdges) {
+                edges.add(new Edge(vertices.get(endpoint(edge.getFrom())), vertices.get(endpoint(edge.getTo())),
+                        edge.getWeight()));
+            }
+        }
+        compact = null;
     }
 
-    // Getters
+    /**
+     * Freezes the graph: later modifications throw {@link IllegalStateException}.
+     * The compact form is built eagerly so concurrent readers share it.
+     * @return this graph
+     */
+    public Graph build() {
+        if (!frozen) {
+            toCompactGraph();
+            frozen = true;
+        }
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Returns the compressed-sparse-row form of this graph. The result is cached
+     * until the graph is modified again.
+     * @return immutable compact representation with interned vertex ids
+     */
+    public CompactGraph toCompactGraph() {
+        if (compact == null && offHeapEdges != null) {
+            compact = CompactGraph.fromEdgeList(offHeapEdges);
+        } else if (compact == null) {
+            CompactGraph.Builder builder = new CompactGraph.Builder(vertices.size(), edges.size());
+            for (String vertex : vertices) {
+                builder.addVertex(vertex);
+            }
+            for (Edge edge : edges) {
+                builder.addEdge(edge.getFrom(), edge.getTo(), edge.getWeight());
+            }
+            compact = builder.build();
+        }
+        return compact;
+    }
+
+    /**
+     * Returns the edges as id triples without creating {@link Edge} objects: the off-heap
+     * store itself for off-heap graphs, otherwise a copy collected from the compact form
+     * (which drops self-loops)
+     * @return edge list over the vertex ids of {@link #getVertexId(String)}
+     */
+    public EdgeList toEdgeList() {
+        return offHeapEdges != null ? offHeapEdges : toCompactGraph().toEdgeList();
+    }
+
+    public boolean isOffHeap() {
+        return offHeapEdges != null;
+    }
+
+    /**
+     * Looks up the dense id of a vertex
+     * @param vertex the vertex name
+     * @return the id in insertion order, or -1 if the vertex is not part of the graph
+     */
+    public int getVertexId(String vertex) {
+        Integer id = vertexIds.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    public boolean containsVertex(String vertex) {
+        return vertexIds.containsKey(vertex);
+    }
+
+    // Getters return copies, or read-only views once the graph is built and can no longer change
     public List<String> getVertices() {
-        return new ArrayList<>(vertices);
+        return frozen ? Collections.unmodifiableList(vertices) : new ArrayList<>(vertices);
     }
 
+    /**
+     * Off-heap graphs create each {@link Edge} on access; prefer {@link #toEdgeList()} for them.
+     * Their edge store is append-only, so the list is a snapshot of the edges present at the call.
+     */
     public List<Edge> getEdges() {
-        return new ArrayList<>(edges);
+        if (offHeapEdges == null) {
+            return frozen ? Collections.unmodifiableList(edges) : new ArrayList<>(edges);
+        }
+        int snapshotSize = getEdgeCount();
+        return new AbstractList<Edge>() {
+            @Override
+            public Edge get(int index) {
+                if (index < 0 || index >= size()) {
+                    throw new IndexOutOfBoundsException("Edge index " + index);
+                }
+                return new Edge(vertices.get(offHeapEdges.from(index)), vertices.get(offHeapEdges.to(index)),
+                        offHeapEdges.weight(index));
+            }
+
+            @Override
+            public int size() {
+                return snapshotSize;
+            }
+        };
     }
 
     public int getVertexCount() {
         return vertices.size();
     }
 
+    /**
+     * @throws ArithmeticException for off-heap graphs past {@link Integer#MAX_VALUE} edges;
+     *         use {@code toEdgeList().getEdgeCount()} for those
+     */
     public int getEdgeCount() {
-        return edges.size();
+        return offHeapEdges != null ? Math.toIntExact(offHeapEdges.getEdgeCount()) : edges.size();
+    }
+
+    private int endpoint(String vertex) {
+        if (autoAddVertices) {
+            return intern(vertex);
+        }
+        Integer id = vertexIds.get(vertex);
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown vertex: " + vertex);
+        }
+        return id;
+    }
+
+    private int intern(String vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Vertex name must not be null");
+        }
+        Integer id = vertexIds.get(vertex);
+        if (id != null) {
+            return id;
+        }
+        int newId = vertices.size();
+        vertexIds.put(vertex, newId);
+        vertices.add(vertex);
+        compact = null;
+        return newId;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("Graph has been built and is read-only");
+        }
+    }
+
+    /**
+     * Bulk loader that pre-sizes storage and returns a frozen graph
+     */
+    public static class Builder {
+        private final Graph graph;
+
+        public Builder(int expectedVertices, int expectedEdges) {
+            graph = new Graph(expectedVertices, expectedEdges);
+        }
+
+        /**
+         * Adds edge endpoints that are not yet vertices instead of rejecting the edge
+         * @return this builder
+         */
+        public Builder autoAddVertices() {
+            graph.autoAddVertices = true;
+            return this;
+        }
+
+        public Builder addVertex(String vertex) {
+            graph.addVertex(vertex);
+            return this;
+        }
+
+        public Builder addVertices(Collection<String> names) {
+            graph.addVertices(names);
+            return this;
+        }
+
+        public Builder addEdge(String from, String to, int weight) {
+            graph.addEdge(from, to, weight);
+            return this;
+        }
+
+        public Builder addEdges(Collection<Edge> edges) {
+            graph.addEdges(edges);
+            return this;
+        }
+
+        /** @return the loaded graph, frozen */
+        public Graph build() {
+            return graph.build();
+        }
     }
 
     @Override
     public String toString() {
-        return String.format("Graph{vertices=%d, edges=%d}", getVertexCount(), getEdgeCount());
+        return String.format("Graph{vertices=%d, edges=%d}", getVertexCount(),
+                offHeapEdges != null ? offHeapEdges.getEdgeCount() : edges.size());
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,19 @@
 package com.transportation;
 
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.io.File;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
+/**
+ * Generates seeded test graphs. All generators run in time linear in the output size and
+ * deduplicate edges with primitive long keys, so graphs with millions of vertices are practical.
+ * Besides uniform random graphs there are road-like grids, geometric k-nearest-neighbor graphs
+ * and power-law (preferential attachment) graphs. Every generated graph is connected.
+ * Geometric point sets with coordinates instead of edges are generated for {@link EuclideanMST}.
+ */
 public class GraphGenerator {
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -12,29 +21,47 @@ public class GraphGenerator {
         objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
     }
 
+    /**
+     * Graph families produced by {@link #generateGraph(int, Topology, int, double, long)}
+     */
+    public enum Topology {
+        /** Uniform random graph; the parameter is the edge density in [0, 1]. */
+        UNIFORM,
+        /** Near-square grid with occasional diagonals, like a street map; the parameter is the diagonal probability. */
+        GRID,
+        /** Random points joined to their nearest neighbors; the parameter is k. */
+        GEOMETRIC_KNN,
+        /** Barabasi-Albert preferential attachment; the parameter is the edges added per vertex. */
+        POWER_LAW
+    }
+
+    /**
+     * Writes the uniform datasets and their combination to data/input.
+     * Optional families: --topologies writes topology_graphs.json, --points writes point_graphs.json
+     */
     public static void main(String[] args) throws Exception {
         // Create directories
         new File("data/input").mkdirs();
+        List<String> options = Arrays.asList(args);
 
         generateSmallGraphs();
         generateMediumGraphs();
         generateLargeGraphs();
         generateExtraLargeGraphs();
+        if (options.contains("--topologies")) {
+            generateTopologyGraphs();
+        }
+        if (options.contains("--points")) {
+            generatePointGraphs();
+        }
         generateCombinedDataset();
         System.out.println("All test datasets generated successfully!");
     }
 
     public static void generateSmallGraphs() throws Exception {
-        List<GraphInput> graphs = new ArrayList<>();
-        Random random = new Random(42);
-
         // Small: 5 graphs with varied sizes up to 50
         int[] smallSizes = {10, 20, 30, 40, 50};
-        for (int i = 0; i < 5; i++) {
-            int vertices = smallSizes[i];
-            double density = 0.3 + (random.nextDouble() * 0.4); // 30-70% density
-            graphs.add(generateGraph(i + 1, vertices, density, random));
-        }
+        List<GraphInput> graphs = generateUniformGraphs(smallSizes, 0.3, 0.4); // 30-70% density
 
         InputData data = new InputData(graphs);
         objectMapper.writeValue(new File("data/input/small_graphs.json"), data);
@@ -42,16 +69,9 @@ public class GraphGenerator {
     }
 
     public static void generateMediumGraphs() throws Exception {
-        List<GraphInput> graphs = new ArrayList<>();
-        Random random = new Random(42);
-
         // Medium: 10 graphs with varied sizes 50-300
         int[] mediumSizes = {50, 75, 100, 125, 150, 175, 200, 225, 250, 300};
-        for (int i = 0; i < 10; i++) {
-            int vertices = mediumSizes[i];
-            double density = 0.2 + (random.nextDouble() * 0.3); // 20-50% density
-            graphs.add(generateGraph(i + 1, vertices, density, random));
-        }
+        List<GraphInput> graphs = generateUniformGraphs(mediumSizes, 0.2, 0.3); // 20-50% density
 
         InputData data = new InputData(graphs);
         objectMapper.writeValue(new File("data/input/medium_graphs.json"), data);
@@ -59,16 +79,9 @@ public class GraphGenerator {
     }
 
     public static void generateLargeGraphs() throws Exception {
-        List<GraphInput> graphs = new ArrayList<>();
-        Random random = new Random(42);
-
         // Large: 10 graphs with varied sizes 300-1000
         int[] largeSizes = {300, 400, 500, 600, 700, 800, 900, 1000, 350, 450};
-        for (int i = 0; i < 10; i++) {
-            int vertices = largeSizes[i];
-            double density = 0.15 + (random.nextDouble() * 0.25); // 15-40% density
-            graphs.add(generateGraph(i + 1, vertices, density, random));
-        }
+        List<GraphInput> graphs = generateUniformGraphs(largeSizes, 0.15, 0.25); // 15-40% density
 
         InputData data = new InputData(graphs);
         objectMapper.writeValue(new File("data/input/large_graphs.json"), data);
@@ -76,22 +89,65 @@ public class GraphGenerator {
     }
 
     public static void generateExtraLargeGraphs() throws Exception {
-        List<GraphInput> graphs = new ArrayList<>();
-        Random random = new Random(42);
-
         // Extra Large: 5 graphs with varied sizes 1000-3000
         int[] extraLargeSizes = {1000, 1500, 2000, 2500, 3000};
-        for (int i = 0; i < 5; i++) {
-            int vertices = extraLargeSizes[i];
-            double density = 0.1 + (random.nextDouble() * 0.2); // 10-30% density
-            graphs.add(generateGraph(i + 1, vertices, density, random));
-        }
+        List<GraphInput> graphs = generateUniformGraphs(extraLargeSizes, 0.1, 0.2); // 10-30% density
 
         InputData data = new InputData(graphs);
         objectMapper.writeValue(new File("data/input/extra_large_graphs.json"), data);
         System.out.println("Generated extra large graphs: 5 graphs with sizes: " + Arrays.toString(extraLargeSizes));
     }
 
+    /**
+     * Writes one graph of each non-uniform topology; not part of the combined dataset
+     */
+    public static void generateTopologyGraphs() throws Exception {
+        List<GraphInput> graphs = Arrays.asList(
+                generateGraph(1, Topology.GRID, 2500, 0.1, 42L),
+                generateGraph(2, Topology.GEOMETRIC_KNN, 2500, 6, 42L),
+                generateGraph(3, Topology.POWER_LAW, 2500, 3, 42L));
+        graphs.forEach(GraphGenerator::printSummary);
+
+        InputData data = new InputData(graphs);
+        objectMapper.writeValue(new File("data/input/topology_graphs.json"), data);
+        System.out.println("Generated topology graphs: grid, geometric kNN and power-law");
+    }
+
+    /**
+     * Writes geometric graphs of random map points; not part of the combined dataset
+     */
+    public static void generatePointGraphs() throws Exception {
+        int[] sizes = {500, 1000, 2000, 3000, 10000};
+        List<GraphInput> graphs = new ArrayList<>();
+        for (int i = 0; i < sizes.length; i++) {
+            graphs.add(generatePoints(i + 1, sizes[i], 42L + i));
+        }
+
+        InputData data = new InputData(graphs);
+        objectMapper.writeValue(new File("data/input/point_graphs.json"), data);
+        System.out.println("Generated point graphs: " + sizes.length + " graphs with sizes: " + Arrays.toString(sizes));
+    }
+
+    /**
+     * Generates uniformly random points on a 10 km square map, with coordinates in metres
+     * @param id graph id
+     * @param vertexCount number of points
+     * @param seed random seed
+     * @return a geometric graph with coordinates and no edges
+     */
+    public static GraphInput generatePoints(int id, int vertexCount, long seed) {
+        Random random = new Random(seed);
+        List<String> nodes = new ArrayList<>(vertexCount);
+        List<double[]> coordinates = new ArrayList<>(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            nodes.add("N" + v);
+            coordinates.add(new double[]{random.nextDouble() * 10_000, random.nextDouble() * 10_000});
+        }
+        GraphInput graph = new GraphInput(id, nodes, new ArrayList<>());
+        graph.setCoordinates(coordinates);
+        return graph;
+    }
+
     public static void generateCombinedDataset() throws Exception {
         List<GraphInput> allGraphs = new ArrayList<>();
 
@@ -116,67 +172,404 @@ public class GraphGenerator {
         System.out.println("Generated combined dataset: " + allGraphs.size() + " graphs total");
     }
 
-    private static GraphInput generateGraph(int id, int vertexCount, double density, Random random) {
-        List<String> nodes = new ArrayList<>();
-        List<EdgeInput> edges = new ArrayList<>();
+    /**
+     * Generates uniform graphs in parallel. Densities and per-graph seeds are drawn up front
+     * from a fixed seed, so the result does not depend on thread scheduling.
+     * Summaries are printed afterwards, in graph order.
+     */
+    private static List<GraphInput> generateUniformGraphs(int[] sizes, double minDensity, double densityRange) {
+        Random random = new Random(42);
+        double[] densities = new double[sizes.length];
+        long[] seeds = new long[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            densities[i] = minDensity + random.nextDouble() * densityRange;
+            seeds[i] = random.nextLong();
+        }
+        List<GraphInput> graphs = IntStream.range(0, sizes.length)
+                .parallel()
+                .mapToObj(i -> generateGraph(i + 1, sizes[i], densities[i], seeds[i]))
+                .collect(Collectors.toList());
+        graphs.forEach(GraphGenerator::printSummary);
+        return graphs;
+    }
+
+    private static void printSummary(GraphInput graph) {
+        long vertexCount = graph.getNodes().size();
+        long maxEdges = vertexCount * (vertexCount - 1) / 2;
+        double actualDensity = maxEdges == 0 ? 0 : (graph.getEdges().size() * 100.0) / maxEdges;
+        System.out.printf("Graph %d: %d vertices, %d edges (density: %.1f%%)%n",
+                graph.getId(), vertexCount, graph.getEdges().size(), actualDensity);
+    }
 
-        // Generate node names
-        for (int i = 0; i < vertexCount; i++) {
-            nodes.add("N" + i);
+    /**
+     * Generates a single connected random graph; the same seed always yields the same graph
+     * @param id graph id
+     * @param vertexCount number of vertices
+     * @param density fraction of all possible edges to include
+     * @param seed random seed
+     * @return the generated graph
+     */
+    public static GraphInput generateGraph(int id, int vertexCount, double density, long seed) {
+        return generateGraph(id, Topology.UNIFORM, vertexCount, density, seed);
+    }
+
+    /**
+     * Generates a single connected graph of the given family; the same seed always yields the same graph
+     * @param id graph id
+     * @param topology graph family
+     * @param vertexCount number of vertices (grids round to the nearest full grid)
+     * @param parameter family parameter, see {@link Topology}
+     * @param seed random seed
+     * @return the generated graph
+     */
+    public static GraphInput generateGraph(int id, Topology topology, int vertexCount, double parameter, long seed) {
+        Random random = new Random(seed);
+        EdgeBuffer edges;
+        switch (topology) {
+            case UNIFORM:
+                edges = uniform(vertexCount, parameter, random);
+                break;
+            case GRID:
+                edges = grid(vertexCount, parameter, random);
+                break;
+            case GEOMETRIC_KNN:
+                edges = geometricKnn(vertexCount, (int) parameter, random);
+                break;
+            case POWER_LAW:
+                edges = powerLaw(vertexCount, (int) parameter, random);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown topology: " + topology);
         }
+        return edges.toGraphInput(id);
+    }
 
+    private static EdgeBuffer uniform(int vertexCount, double density, Random random) {
         // Generate edges with controlled density
-        int maxEdges = vertexCount * (vertexCount - 1) / 2;
-        int targetEdges = (int) (maxEdges * density);
+        long maxEdges = (long) vertexCount * (vertexCount - 1) / 2;
+        long targetEdges = (long) (maxEdges * density);
         targetEdges = Math.max(targetEdges, vertexCount - 1); // Ensure connectivity
         targetEdges = Math.min(targetEdges, maxEdges); // Don't exceed maximum
+        if (targetEdges > KruskalMST.MAX_IN_MEMORY_EDGES) {
+            throw new IllegalArgumentException("Too many edges requested: " + targetEdges);
+        }
 
-        Set<String> addedEdges = new HashSet<>();
+        EdgeBuffer edges = new EdgeBuffer(vertexCount, (int) targetEdges);
+        LongSet added = new LongSet((int) targetEdges);
+        randomSpanningTree(vertexCount, random, edges, added);
+
+        long needed = targetEdges - edges.size;
+        if (needed * 2 <= maxEdges) {
+            // Sparse: rejection sampling, at most two expected draws per edge
+            while (edges.size < targetEdges) {
+                int from = random.nextInt(vertexCount);
+                int to = random.nextInt(vertexCount);
+                if (from != to && added.add(edgeKey(from, to))) {
+                    edges.add(from, to, 1 + random.nextInt(100));
+                }
+            }
+        } else {
+            // Dense: selection sampling over all remaining pairs, O(V^2) = O(E) here
+            long remaining = maxEdges - edges.size;
+            for (int from = 0; from < vertexCount && needed > 0; from++) {
+                for (int to = from + 1; to < vertexCount && needed > 0; to++) {
+                    if (added.contains(edgeKey(from, to))) continue;
+                    if (random.nextDouble() * remaining < needed) {
+                        edges.add(from, to, 1 + random.nextInt(100));
+                        needed--;
+                    }
+                    remaining--;
+                }
+            }
+        }
+        return edges;
+    }
 
-        // First, ensure graph is connected (create spanning tree)
-        List<Integer> connected = new ArrayList<>();
-        connected.add(0);
-        List<Integer> unconnected = new ArrayList<>();
+    /**
+     * Adds a uniformly shuffled random-attachment spanning tree in O(V)
+     */
+    private static void randomSpanningTree(int vertexCount, Random random, EdgeBuffer edges, LongSet added) {
+        int[] order = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            order[i] = i;
+        }
+        for (int i = vertexCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
         for (int i = 1; i < vertexCount; i++) {
-            unconnected.add(i);
+            int from = order[random.nextInt(i)];
+            int to = order[i];
+            added.add(edgeKey(from, to));
+            edges.add(from, to, 1 + random.nextInt(100));
         }
+    }
 
-        while (!unconnected.isEmpty()) {
-            int fromIndex = random.nextInt(connected.size());
-            int toIndex = random.nextInt(unconnected.size());
-            int from = connected.get(fromIndex);
-            int to = unconnected.get(toIndex);
+    private static EdgeBuffer grid(int vertexCount, double diagonalProbability, Random random) {
+        int cols = Math.max(1, (int) Math.round(Math.sqrt(vertexCount)));
+        int rows = Math.max(1, (int) Math.round((double) vertexCount / cols));
+        EdgeBuffer edges = new EdgeBuffer(rows * cols, 2 * rows * cols);
+
+        // Street segments cost roughly their length; one diagonal direction per block keeps the map planar
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int v = r * cols + c;
+                if (c + 1 < cols) edges.add(v, v + 1, roadCost(1.0, random));
+                if (r + 1 < rows) edges.add(v, v + cols, roadCost(1.0, random));
+                if (c + 1 < cols && r + 1 < rows && random.nextDouble() < diagonalProbability) {
+                    edges.add(v, v + cols + 1, roadCost(Math.sqrt(2), random));
+                }
+            }
+        }
+        return edges;
+    }
 
-            int weight = 1 + random.nextInt(100);
-            String edgeKey = Math.min(from, to) + "-" + Math.max(from, to);
+    private static int roadCost(double length, Random random) {
+        return 1 + (int) (length * (50 + random.nextInt(51)));
+    }
 
-            edges.add(new EdgeInput("N" + from, "N" + to, weight));
-            addedEdges.add(edgeKey);
+    private static EdgeBuffer geometricKnn(int vertexCount, int k, Random random) {
+        k = Math.max(1, Math.min(k, vertexCount - 1));
+        double[] x = new double[vertexCount];
+        double[] y = new double[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            x[v] = random.nextDouble();
+            y[v] = random.nextDouble();
+        }
 
-            connected.add(to);
-            unconnected.remove(toIndex);
+        // Bucket points into a uniform grid with about k points per cell
+        int side = Math.max(1, (int) Math.sqrt((double) vertexCount / Math.max(k, 1)));
+        int[] cellStart = new int[side * side + 1];
+        int[] cellOf = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            cellOf[v] = cell(x[v], side) * side + cell(y[v], side);
+            cellStart[cellOf[v] + 1]++;
+        }
+        for (int c = 0; c < side * side; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] cellPoints = new int[vertexCount];
+        int[] fill = Arrays.copyOf(cellStart, side * side);
+        for (int v = 0; v < vertexCount; v++) {
+            cellPoints[fill[cellOf[v]]++] = v;
         }
 
-        // Add additional random edges
-        while (edges.size() < targetEdges && edges.size() < maxEdges) {
-            int from = random.nextInt(vertexCount);
-            int to = random.nextInt(vertexCount);
+        EdgeBuffer edges = new EdgeBuffer(vertexCount, vertexCount * k);
+        LongSet added = new LongSet(vertexCount * k);
+        int[] nearest = new int[k];
+        double[] nearestDistance = new double[k]; // squared distances
+        DisjointSet components = new DisjointSet(vertexCount);
+
+        for (int v = 0; v < vertexCount; v++) {
+            int found = 0;
+            int cx = cell(x[v], side);
+            int cy = cell(y[v], side);
+            // Grow rings of cells until the k-th neighbor is closer than any unvisited cell
+            for (int ring = 0; ring <= side; ring++) {
+                double reach = (double) (ring - 1) / side;
+                if (found == k && ring > 0 && nearestDistance[k - 1] <= reach * reach) break;
+                for (int gx = cx - ring; gx <= cx + ring; gx++) {
+                    for (int gy = cy - ring; gy <= cy + ring; gy++) {
+                        if (Math.max(Math.abs(gx - cx), Math.abs(gy - cy)) != ring) continue;
+                        if (gx < 0 || gy < 0 || gx >= side || gy >= side) continue;
+                        int c = gx * side + gy;
+                        for (int slot = cellStart[c]; slot < cellStart[c + 1]; slot++) {
+                            int u = cellPoints[slot];
+                            if (u == v) continue;
+                            double dx = x[u] - x[v];
+                            double dy = y[u] - y[v];
+                            double d = dx * dx + dy * dy; // squared, compared without sqrt
+                            if (found < k) {
+                                found++;
+                            } else if (d >= nearestDistance[k - 1]) {
+                                continue;
+                            }
+                            // Insertion into the sorted candidate list
+                            int i = found - 1;
+                            while (i > 0 && nearestDistance[i - 1] > d) {
+                                nearestDistance[i] = nearestDistance[i - 1];
+                                nearest[i] = nearest[i - 1];
+                                i--;
+                            }
+                            nearestDistance[i] = d;
+                            nearest[i] = u;
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < found; i++) {
+                if (added.add(edgeKey(v, nearest[i]))) {
+                    edges.add(v, nearest[i], distanceCost(Math.sqrt(nearestDistance[i])));
+                    components.union(v, nearest[i]);
+                }
+            }
+        }
 
-            if (from != to) {
-                String edgeKey = Math.min(from, to) + "-" + Math.max(from, to);
+        // kNN graphs can split into clusters; link them along the cell order with short bridges
+        int previous = -1;
+        for (int slot = 0; slot < vertexCount; slot++) {
+            int v = cellPoints[slot];
+            if (previous >= 0 && components.union(previous, v)) {
+                edges.add(previous, v, distanceCost(Math.hypot(x[previous] - x[v], y[previous] - y[v])));
+            }
+            previous = v;
+        }
+        return edges;
+    }
+
+    private static int cell(double coordinate, int side) {
+        return Math.min(side - 1, (int) (coordinate * side));
+    }
+
+    private static int distanceCost(double distance) {
+        return 1 + (int) (distance * 10_000);
+    }
+
+    private static EdgeBuffer powerLaw(int vertexCount, int edgesPerVertex, Random random) {
+        int m = Math.max(1, Math.min(edgesPerVertex, vertexCount - 1));
+        EdgeBuffer edges = new EdgeBuffer(vertexCount, vertexCount * m);
+        if (vertexCount <= 1) {
+            return edges;
+        }
 
-                if (!addedEdges.contains(edgeKey)) {
-                    int weight = 1 + random.nextInt(100);
-                    edges.add(new EdgeInput("N" + from, "N" + to, weight));
-                    addedEdges.add(edgeKey);
+        // Every edge endpoint is recorded once, so sampling a slot picks a vertex by degree
+        int[] endpoints = new int[2 * vertexCount * m];
+        int endpointCount = 0;
+        int seedSize = m + 1;
+        for (int u = 0; u < Math.min(seedSize, vertexCount); u++) {
+            for (int v = u + 1; v < Math.min(seedSize, vertexCount); v++) {
+                edges.add(u, v, 1 + random.nextInt(100));
+                endpoints[endpointCount++] = u;
+                endpoints[endpointCount++] = v;
+            }
+        }
+
+        int[] targets = new int[m];
+        for (int v = seedSize; v < vertexCount; v++) {
+            int chosen = 0;
+            while (chosen < m) {
+                int target = endpoints[random.nextInt(endpointCount)];
+                boolean duplicate = false;
+                for (int i = 0; i < chosen; i++) {
+                    duplicate |= targets[i] == target;
                 }
+                if (!duplicate) {
+                    targets[chosen++] = target;
+                }
+            }
+            for (int i = 0; i < m; i++) {
+                edges.add(v, targets[i], 1 + random.nextInt(100));
+                endpoints[endpointCount++] = v;
+                endpoints[endpointCount++] = targets[i];
+            }
+        }
+        return edges;
+    }
+
+    private static long edgeKey(int from, int to) {
+        return ((long) Math.min(from, to) << 32) | Math.max(from, to);
+    }
+
+    /**
+     * Growable parallel int arrays of generated edges
+     */
+    private static class EdgeBuffer {
+        private final int vertexCount;
+        private int[] from;
+        private int[] to;
+        private int[] weight;
+        private int size;
+
+        EdgeBuffer(int vertexCount, int expectedEdges) {
+            this.vertexCount = vertexCount;
+            int capacity = Math.max(expectedEdges, 16);
+            from = new int[capacity];
+            to = new int[capacity];
+            weight = new int[capacity];
+        }
+
+        void add(int u, int v, int w) {
+            if (size == from.length) {
+                int capacity = size * 2;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
             }
+            from[size] = u;
+            to[size] = v;
+            weight[size] = w;
+            size++;
         }
 
-        double actualDensity = (edges.size() * 100.0) / maxEdges;
-        System.out.printf("Graph %d: %d vertices, %d edges (density: %.1f%%)%n",
-                id, vertexCount, edges.size(), actualDensity);
+        GraphInput toGraphInput(int id) {
+            // Generate node names
+            String[] names = new String[vertexCount];
+            List<String> nodes = new ArrayList<>(vertexCount);
+            for (int i = 0; i < vertexCount; i++) {
+                names[i] = "N" + i;
+                nodes.add(names[i]);
+            }
+            List<EdgeInput> edges = new ArrayList<>(size);
+            for (int e = 0; e < size; e++) {
+                edges.add(new EdgeInput(names[from[e]], names[to[e]], weight[e]));
+            }
+            return new GraphInput(id, nodes, edges);
+        }
+    }
+
+    /**
+     * Open-addressing hash set of non-negative long keys
+     */
+    private static class LongSet {
+        private static final long EMPTY = -1;
+
+        private long[] slots;
+        private int size;
 
-        return new GraphInput(id, nodes, edges);
+        LongSet(int expected) {
+            slots = new long[Math.max(16, Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1)];
+            Arrays.fill(slots, EMPTY);
+        }
+
+        boolean contains(long key) {
+            int mask = slots.length - 1;
+            for (int i = hash(key) & mask; slots[i] != EMPTY; i = (i + 1) & mask) {
+                if (slots[i] == key) return true;
+            }
+            return false;
+        }
+
+        /** @return true if the key was not yet present */
+        boolean add(long key) {
+            if (2 * (size + 1) > slots.length) {
+                grow();
+            }
+            int mask = slots.length - 1;
+            int i = hash(key) & mask;
+            while (slots[i] != EMPTY) {
+                if (slots[i] == key) return false;
+                i = (i + 1) & mask;
+            }
+            slots[i] = key;
+            size++;
+            return true;
+        }
+
+        private void grow() {
+            long[] old = slots;
+            slots = new long[old.length * 2];
+            Arrays.fill(slots, EMPTY);
+            size = 0;
+            for (long key : old) {
+                if (key != EMPTY) add(key);
+            }
+        }
+
+        private static int hash(long key) {
+            key *= 0x9E3779B97F4A7C15L;
+            return (int) (key ^ (key >>> 32));
+        }
     }
-}
\ No newline at end of file
+}
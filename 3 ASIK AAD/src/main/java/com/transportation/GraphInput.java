@@ -1,12 +1,14 @@
 package com.transportation;
 
 import java.util.List;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class GraphInput {
     private int id;
     private List<String> nodes;
     private List<EdgeInput> edges;
+    private List<double[]> coordinates;
 
     public GraphInput() {}
 
@@ -27,4 +29,14 @@ public class GraphInput {
     @JsonProperty("edges")
     public List<EdgeInput> getEdges() { return edges; }
     public void setEdges(List<EdgeInput> edges) { this.edges = edges; }
+
+    /**
+     * Optional {@code [x, y]} position of each node, in node order. A graph with coordinates
+     * is geometric: every pair of nodes is joined at its straight-line distance and
+     * {@link #getEdges()} is left empty, see {@link EuclideanMST}.
+     */
+    @JsonProperty("coordinates")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<double[]> getCoordinates() { return coordinates; }
+    public void setCoordinates(List<double[]> coordinates) { this.coordinates = coordinates; }
 }
\ No newline at end of file
@@ -0,0 +1,211 @@
+package com.transportation;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Pull-based reader for {@link InputData} JSON files built on Jackson's streaming API.
+ * Graphs are parsed one at a time and their edges go straight into a
+ * {@link CompactGraph.Builder}, so no {@link GraphInput}/{@link EdgeInput} objects are
+ * created and memory is bounded by the largest single graph rather than the whole file.
+ * Geometric graphs, whose nodes carry {@code "coordinates"} instead of edges, are returned
+ * as their Delaunay graph (see {@link EuclideanMST#toGraph}), so the complete distance graph
+ * is never materialized. A top-level object in the {@link GraphInput} shape instead of the
+ * {@code "graphs"} wrapper is read as a single graph.
+ */
+public class GraphStreamReader implements Closeable {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final Set<String> GRAPH_FIELDS =
+            new HashSet<>(Arrays.asList("id", "nodes", "edges", "coordinates"));
+
+    private final JsonParser parser;
+    private boolean single;
+    private boolean started;
+    private boolean finished;
+    private int lastGraphId;
+
+    public GraphStreamReader(File file) throws IOException {
+        this(JSON_FACTORY.createParser(file));
+    }
+
+    public GraphStreamReader(InputStream in) throws IOException {
+        this(JSON_FACTORY.createParser(in));
+    }
+
+    private GraphStreamReader(JsonParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Parses the next graph of the "graphs" array, or the top-level graph of a single-graph input
+     * @return the next graph, or null when all graphs have been read
+     * @throws IOException if the input is not valid graph JSON
+     */
+    public CompactGraph next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (!started) {
+            moveToGraphsArray();
+            started = true;
+            if (single) {
+                return readGraph(parser.currentToken());
+            }
+        } else if (single) {
+            finished = true;
+            return null;
+        }
+
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            finished = true;
+            return null;
+        }
+        expect(token, JsonToken.START_OBJECT);
+        return readGraph(parser.nextToken());
+    }
+
+    /**
+     * Id field of the graph most recently returned by {@link #next()}
+     */
+    public int getLastGraphId() {
+        return lastGraphId;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private void moveToGraphsArray() throws IOException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            if (GRAPH_FIELDS.contains(field)) {
+                single = true; // positioned on the first field of a bare graph object
+                return;
+            }
+            JsonToken value = parser.nextToken();
+            if ("graphs".equals(field)) {
+                expect(value, JsonToken.START_ARRAY);
+                return;
+            }
+            parser.skipChildren();
+        }
+        throw new JsonParseException(parser, "Missing \"graphs\" array");
+    }
+
+    /**
+     * @param first the token after the graph's opening brace
+     */
+    private CompactGraph readGraph(JsonToken first) throws IOException {
+        CompactGraph.Builder builder = new CompactGraph.Builder();
+        List<String> nodes = new ArrayList<>();
+        double[] x = null;
+        double[] y = null;
+        int points = 0;
+        lastGraphId = 0;
+
+        for (JsonToken token = first; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id":
+                    lastGraphId = parser.getIntValue();
+                    break;
+                case "nodes":
+                    expect(value, JsonToken.START_ARRAY);
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        nodes.add(parser.getText());
+                        builder.addVertex(parser.getText());
+                    }
+                    break;
+                case "coordinates":
+                    expect(value, JsonToken.START_ARRAY);
+                    x = new double[16];
+                    y = new double[16];
+                    while (parser.nextToken() == JsonToken.START_ARRAY) {
+                        if (points == x.length) {
+                            x = Arrays.copyOf(x, points * 2);
+                            y = Arrays.copyOf(y, points * 2);
+                        }
+                        x[points] = readCoordinate();
+                        y[points] = readCoordinate();
+                        expect(parser.nextToken(), JsonToken.END_ARRAY);
+                        points++;
+                    }
+                    break;
+                case "edges":
+                    expect(value, JsonToken.START_ARRAY);
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readEdge(builder);
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        if (x == null) {
+            return builder.build();
+        }
+        if (builder.getEdgeCount() > 0) {
+            throw new JsonParseException(parser, "Graph " + lastGraphId + " has both coordinates and edges");
+        }
+        if (points != nodes.size()) {
+            throw new JsonParseException(parser, "Graph " + lastGraphId + " has " + nodes.size() +
+                    " nodes but " + points + " coordinates");
+        }
+        return EuclideanMST.toGraph(nodes, Arrays.copyOf(x, points), Arrays.copyOf(y, points));
+    }
+
+    private double readCoordinate() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_NUMBER_INT) {
+            throw new JsonParseException(parser, "Expected a coordinate but found " + token);
+        }
+        return parser.getDoubleValue();
+    }
+
+    private void readEdge(CompactGraph.Builder builder) throws IOException {
+        String from = null;
+        String to = null;
+        int weight = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "from":
+                    from = parser.getText();
+                    break;
+                case "to":
+                    to = parser.getText();
+                    break;
+                case "weight":
+                    weight = parser.getIntValue();
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        if (from == null || to == null) {
+            throw new JsonParseException(parser, "Edge is missing \"from\" or \"to\"");
+        }
+        builder.addEdge(from, to, weight);
+    }
+
+    private void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + actual);
+        }
+    }
+}
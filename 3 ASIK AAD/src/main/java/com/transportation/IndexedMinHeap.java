@@ -0,0 +1,151 @@
+package com.transportation;
+
+import java.util.Arrays;
+
+/**
+ * Indexed d-ary min-heap over vertex ids {@code 0..capacity-1} with int keys.
+ * Each vertex is held at most once, so the heap never grows beyond V entries and
+ * a better key is applied in place through {@link #decreaseKey(int, int)}.
+ */
+public class IndexedMinHeap {
+    private static final int ARITY = 4;
+
+    private int[] heap;      // heap position -> vertex
+    private int[] position;  // vertex -> heap position, -1 if absent
+    private int[] keys;      // vertex -> current key
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Empties the heap and makes it cover vertex ids {@code 0..capacity-1}, growing the
+     * arrays only when they are too small
+     */
+    public void reset(int capacity) {
+        if (position.length < capacity) {
+            int length = MSTWorkspace.grownLength(position.length, capacity);
+            heap = new int[length];
+            position = new int[length];
+            keys = new int[length];
+        }
+        Arrays.fill(position, 0, capacity, -1);
+        size = 0;
+    }
+
+    /** @return the largest vertex count the arrays can hold without growing */
+    public int capacity() {
+        return position.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int vertex) {
+        return position[vertex] >= 0;
+    }
+
+    public int keyOf(int vertex) {
+        return keys[vertex];
+    }
+
+    /**
+     * Inserts a vertex that is not currently in the heap
+     * @param vertex the vertex id
+     * @param key the priority of the vertex
+     */
+    public void insert(int vertex, int key) {
+        if (position[vertex] >= 0) {
+            throw new IllegalStateException("Vertex " + vertex + " is already in the heap");
+        }
+        keys[vertex] = key;
+        heap[size] = vertex;
+        position[vertex] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Lowers the key of a vertex already in the heap
+     * @param vertex the vertex id
+     * @param key the new key, which must not exceed the current one
+     */
+    public void decreaseKey(int vertex, int key) {
+        if (key > keys[vertex]) {
+            throw new IllegalArgumentException("New key " + key + " is greater than current key " + keys[vertex]);
+        }
+        keys[vertex] = key;
+        siftUp(position[vertex]);
+    }
+
+    /**
+     * Removes the vertex with the smallest key
+     * @return the removed vertex id
+     */
+    public int pollMin() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int index) {
+        int vertex = heap[index];
+        int key = keys[vertex];
+        while (index > 0) {
+            int parentIndex = (index - 1) / ARITY;
+            int parent = heap[parentIndex];
+            if (keys[parent] <= key) break;
+            heap[index] = parent;
+            position[parent] = index;
+            index = parentIndex;
+        }
+        heap[index] = vertex;
+        position[vertex] = index;
+    }
+
+    private void siftDown(int index) {
+        int vertex = heap[index];
+        int key = keys[vertex];
+        while (true) {
+            int firstChild = index * ARITY + 1;
+            if (firstChild >= size) break;
+
+            int best = firstChild;
+            int bestKey = keys[heap[firstChild]];
+            int lastChild = Math.min(firstChild + ARITY, size);
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                int childKey = keys[heap[child]];
+                if (childKey < bestKey) {
+                    best = child;
+                    bestKey = childKey;
+                }
+            }
+            if (bestKey >= key) break;
+
+            int child = heap[best];
+            heap[index] = child;
+            position[child] = index;
+            index = best;
+        }
+        heap[index] = vertex;
+        position[vertex] = index;
+    }
+}
@@ -4,104 +4,147 @@ import java.util.*;
 
 /**
  * Implementation of Kruskal's algorithm for finding Minimum Spanning Trees.
- * Uses union-find data structure to efficiently detect cycles.
+ * Uses an array-backed union-find ({@link DisjointSet}) to efficiently detect cycles.
  */
 public class KruskalMST {
+    /** Largest edge count whose sort permutation fits in a Java array. */
+    static final long MAX_IN_MEMORY_EDGES = Integer.MAX_VALUE - 8;
+    /** Heap bytes per edge for sorting: the weight copy, the order and the packed keys. */
+    static final int SORT_BYTES_PER_EDGE = 16;
 
     /**
-     * Finds the Minimum Spanning Tree using Kruskal's algorithm
+     * Largest edge list this engine sorts in memory on the current JVM: its sort arrays may
+     * take at most a quarter of the maximum heap
+     * @return edge count above which {@link ExternalKruskalMST} should be used instead
+     */
+    public static long maxInMemoryEdges() {
+        return Math.min(MAX_IN_MEMORY_EDGES, Runtime.getRuntime().maxMemory() / 4 / SORT_BYTES_PER_EDGE);
+    }
+
+    /**
+     * Finds the Minimum Spanning Tree using Kruskal's algorithm. Heap graphs are read from
+     * their cached compact form into pooled buffers; off-heap graphs are read in place.
      * @param graph the input graph
      * @return MST result containing edges, cost, and performance metrics
      */
     public MSTResult findMST(Graph graph) {
+        return graph.isOffHeap() ? findMST(graph.toEdgeList()) : findMST(graph.toCompactGraph());
+    }
+
+    /**
+     * Finds the Minimum Spanning Tree using Kruskal's algorithm over the CSR arrays
+     * @param graph the compact input graph
+     * @return MST result containing edges, cost, and performance metrics
+     */
+    public MSTResult findMST(CompactGraph graph) {
+        return findMST(graph, MSTProbe.NOOP);
+    }
+
+    /**
+     * Finds the Minimum Spanning Tree using Kruskal's algorithm over the CSR arrays,
+     * reporting sort, union-find and edge events
+     * @param graph the compact input graph
+     * @param probe receives instrumentation events
+     * @return MST result containing edges, cost, and performance metrics
+     */
+    public MSTResult findMST(CompactGraph graph, MSTProbe probe) {
+        try (MSTWorkspace workspace = MSTWorkspace.acquire()) {
+            return findMST(graph.toEdgeList(workspace), probe, workspace);
+        }
+    }
+
+    /**
+     * Finds the Minimum Spanning Tree using Kruskal's algorithm directly over an edge list,
+     * such as a memory-mapped binary graph. Only the weights are copied for sorting;
+     * endpoints are read from the list while scanning.
+     * @param edges the input edges
+     * @return MST result containing edges, cost, and performance metrics
+     */
+    public MSTResult findMST(EdgeList edges) {
+        return findMST(edges, MSTProbe.NOOP);
+    }
+
+    /**
+     * Finds the Minimum Spanning Tree using Kruskal's algorithm, reporting sort,
+     * union-find and edge events
+     * @param edges the input edges
+     * @param probe receives instrumentation events
+     * @return MST result containing edges, cost, and performance metrics
+     */
+    public MSTResult findMST(EdgeList edges, MSTProbe probe) {
+        try (MSTWorkspace workspace = MSTWorkspace.acquire()) {
+            return findMST(edges, probe, workspace);
+        }
+    }
+
+    /**
+     * @param workspace supplies the sort buffers and the union-find arrays
+     */
+    MSTResult findMST(EdgeList edges, MSTProbe probe, MSTWorkspace workspace) {
         long startTime = System.nanoTime();
         long operations = 0;
 
-        List<Edge> mstEdges = new ArrayList<>();
+        int n = edges.getVertexCount();
+        List<Edge> mstEdges = new ArrayList<>(Math.max(n - 1, 0));
         int totalCost = 0;
 
         // Handle empty graph and single vertex graph
-        if (graph.getVertexCount() <= 1) {
-            long executionTime = (System.nanoTime() - startTime) / 1_000_000;
-            return new MSTResult(mstEdges, totalCost, operations, executionTime);
+        if (n <= 1) {
+            long executionTimeNanos = System.nanoTime() - startTime;
+            return new MSTResult(mstEdges, totalCost, operations, executionTimeNanos / 1_000_000, executionTimeNanos);
+        }
+        if (edges.getEdgeCount() > MAX_IN_MEMORY_EDGES) {
+            throw new IllegalArgumentException("Too many edges for in-memory Kruskal: " + edges.getEdgeCount());
+        }
+
+        int m = (int) edges.getEdgeCount();
+        int[] weight = workspace.sortWeights(m);
+        for (int e = 0; e < m; e++) {
+            weight[e] = edges.weight(e);
         }
 
-        // Sort edges - estimate sorting operations: E * log(E)
-        List<Edge> sortedEdges = new ArrayList<>(graph.getEdges());
-        long sortOperations = sortedEdges.size() * (long)(Math.log(sortedEdges.size()) / Math.log(2));
-        Collections.sort(sortedEdges);
+        // Sort edge ids by weight - counting sort for bounded weights, packed-key sort otherwise
+        long sortOperations = EdgeSort.estimateOperations(weight, m);
         operations += sortOperations;
+        probe.sortOperations(sortOperations);
+        int[] sortedEdges = EdgeSort.sortByWeight(weight, m, workspace);
 
-        UnionFind uf = new UnionFind(graph.getVertices());
+        DisjointSet uf = workspace.disjointSet(n);
 
-        // Process each edge
-        for (Edge edge : sortedEdges) {
-            if (mstEdges.size() == graph.getVertexCount() - 1) break;
+        // Process each edge; the workspace buffers may be longer than m
+        for (int i = 0; i < m; i++) {
+            if (mstEdges.size() == n - 1) break;
+
+            int e = sortedEdges[i];
+            int from = edges.from(e);
+            int to = edges.to(e);
+            probe.edgeScanned();
 
             // Count find operations (2 per edge)
             operations += 2;
-            String root1 = uf.find(edge.getFrom());
-            String root2 = uf.find(edge.getTo());
+            int root1 = uf.find(from, probe);
+            int root2 = uf.find(to, probe);
 
-            if (!root1.equals(root2)) {
-                mstEdges.add(edge);
-                totalCost += edge.getWeight();
+            if (root1 != root2) {
+                mstEdges.add(new Edge(edges.getVertexName(from), edges.getVertexName(to), weight[e]));
+                totalCost += weight[e];
 
                 // Count union operation
                 operations += 1;
-                uf.union(edge.getFrom(), edge.getTo());
+                uf.unionRoots(root1, root2);
+                probe.union();
+            } else {
+                probe.edgeRejected();
             }
         }
 
-        long executionTime = (System.nanoTime() - startTime) / 1_000_000;
+        long executionTimeNanos = System.nanoTime() - startTime;
 
-        if (mstEdges.size() != graph.getVertexCount() - 1) {
+        if (mstEdges.size() != n - 1) {
             System.out.println("Info: Graph is not connected. MST covers " +
-                    (mstEdges.size() + 1) + " out of " + graph.getVertexCount() + " vertices.");
-        }
-
-        return new MSTResult(mstEdges, totalCost, operations, executionTime);
-    }
-
-    /**
-     * Union-Find (Disjoint Set Union) data structure for cycle detection
-     */
-    private static class UnionFind {
-        private Map<String, String> parent;
-        private Map<String, Integer> rank;
-
-        public UnionFind(List<String> vertices) {
-            parent = new HashMap<>();
-            rank = new HashMap<>();
-
-            for (String vertex : vertices) {
-                parent.put(vertex, vertex);
-                rank.put(vertex, 0);
-            }
-        }
-
-        public String find(String x) {
-            if (!parent.get(x).equals(x)) {
-                parent.put(x, find(parent.get(x))); // Path compression
-            }
-            return parent.get(x);
+                    (mstEdges.size() + 1) + " out of " + n + " vertices.");
         }
 
-        public void union(String x, String y) {
-            String rootX = find(x);
-            String rootY = find(y);
-
-            if (!rootX.equals(rootY)) {
-                // Union by rank
-                if (rank.get(rootX) < rank.get(rootY)) {
-                    parent.put(rootX, rootY);
-                } else if (rank.get(rootX) > rank.get(rootY)) {
-                    parent.put(rootY, rootX);
-                } else {
-                    parent.put(rootY, rootX);
-                    rank.put(rootX, rank.get(rootX) + 1);
-                }
-            }
-        }
+        return new MSTResult(mstEdges, totalCost, operations, executionTimeNanos / 1_000_000, executionTimeNanos);
     }
-}
\ No newline at end of file
+}
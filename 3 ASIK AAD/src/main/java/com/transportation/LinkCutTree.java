@@ -0,0 +1,200 @@
+package com.transportation;
+
+import java.util.Arrays;
+
+/**
+ * Array-backed link-cut tree (Sleator-Tarjan) over nodes {@code 0..size-1}.
+ * Every node carries an int value and each splay subtree tracks the node with the largest
+ * value, so the maximum along any tree path can be queried. Equal values are broken
+ * towards the larger node id. All operations run in O(log n) amortized time.
+ */
+public class LinkCutTree {
+    private static final int NONE = -1;
+
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private int[] value;
+    private int[] max;
+    private boolean[] reversed;
+    private int[] stack;
+    private int size;
+
+    public LinkCutTree(int capacity) {
+        left = new int[Math.max(capacity, 1)];
+        right = new int[left.length];
+        parent = new int[left.length];
+        value = new int[left.length];
+        max = new int[left.length];
+        reversed = new boolean[left.length];
+        stack = new int[left.length];
+    }
+
+    /**
+     * Adds an isolated node
+     * @param nodeValue the value of the node
+     * @return the id of the new node
+     */
+    public int addNode(int nodeValue) {
+        if (size == left.length) {
+            int capacity = left.length * 2;
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            value = Arrays.copyOf(value, capacity);
+            max = Arrays.copyOf(max, capacity);
+            reversed = Arrays.copyOf(reversed, capacity);
+            stack = Arrays.copyOf(stack, capacity);
+        }
+        int x = size++;
+        left[x] = NONE;
+        right[x] = NONE;
+        parent[x] = NONE;
+        value[x] = nodeValue;
+        max[x] = x;
+        return x;
+    }
+
+    public int getValue(int x) {
+        return value[x];
+    }
+
+    public void setValue(int x, int nodeValue) {
+        access(x);
+        value[x] = nodeValue;
+        update(x);
+    }
+
+    /**
+     * Connects two nodes of different trees with a tree edge
+     */
+    public void link(int x, int y) {
+        makeRoot(x);
+        parent[x] = y;
+    }
+
+    /**
+     * Removes the tree edge between two adjacent nodes
+     */
+    public void cut(int x, int y) {
+        makeRoot(x);
+        access(y);
+        // x is now the left child of y and has no right subtree
+        if (left[y] != x || right[x] != NONE) {
+            throw new IllegalStateException("Nodes " + x + " and " + y + " are not adjacent");
+        }
+        left[y] = NONE;
+        parent[x] = NONE;
+        update(y);
+    }
+
+    public boolean connected(int x, int y) {
+        return x == y || findRoot(x) == findRoot(y);
+    }
+
+    /**
+     * Finds the node with the largest value on the tree path between two connected nodes
+     */
+    public int pathMax(int x, int y) {
+        makeRoot(x);
+        access(y);
+        return max[y];
+    }
+
+    private int findRoot(int x) {
+        access(x);
+        while (true) {
+            push(x);
+            if (left[x] == NONE) break;
+            x = left[x];
+        }
+        splay(x);
+        return x;
+    }
+
+    private void makeRoot(int x) {
+        access(x);
+        reversed[x] = !reversed[x];
+    }
+
+    private void access(int x) {
+        int last = NONE;
+        for (int y = x; y != NONE; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            update(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == NONE || (left[p] != x && right[p] != x);
+    }
+
+    private void update(int x) {
+        int best = x;
+        if (left[x] != NONE && heavier(max[left[x]], best)) best = max[left[x]];
+        if (right[x] != NONE && heavier(max[right[x]], best)) best = max[right[x]];
+        max[x] = best;
+    }
+
+    private boolean heavier(int a, int b) {
+        return value[a] != value[b] ? value[a] > value[b] : a > b;
+    }
+
+    private void push(int x) {
+        if (reversed[x]) {
+            int tmp = left[x];
+            left[x] = right[x];
+            right[x] = tmp;
+            if (left[x] != NONE) reversed[left[x]] = !reversed[left[x]];
+            if (right[x] != NONE) reversed[right[x]] = !reversed[right[x]];
+            reversed[x] = false;
+        }
+    }
+
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        if (!isSplayRoot(p)) {
+            if (left[g] == p) left[g] = x; else right[g] = x;
+        }
+        parent[x] = g;
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != NONE) parent[right[x]] = p;
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != NONE) parent[left[x]] = p;
+            left[x] = p;
+        }
+        parent[p] = x;
+        update(p);
+        update(x);
+    }
+
+    private void splay(int x) {
+        // Push pending reversals from the splay root down to x, without recursion
+        int top = 0;
+        stack[top++] = x;
+        for (int y = x; !isSplayRoot(y); y = parent[y]) {
+            stack[top++] = parent[y];
+        }
+        while (top > 0) {
+            push(stack[--top]);
+        }
+
+        while (!isSplayRoot(x)) {
+            int p = parent[x];
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                boolean zigZig = (left[g] == p) == (left[p] == x);
+                rotate(zigZig ? p : x);
+            }
+            rotate(x);
+        }
+    }
+}
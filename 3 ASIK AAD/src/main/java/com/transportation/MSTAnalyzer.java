@@ -2,7 +2,10 @@ package com.transportation;
 
 import java.io.*;
 import java.util.*;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Main analysis engine that coordinates MST computation and result reporting.
@@ -10,193 +13,588 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class MSTAnalyzer {
     private PrimMST prim = new PrimMST();
     private KruskalMST kruskal = new KruskalMST();
-    private ObjectMapper objectMapper = new ObjectMapper();
+    private DensePrimMST densePrim = new DensePrimMST();
+    private FilterKruskalMST filterKruskal = new FilterKruskalMST();
+    private BoruvkaMST boruvka = new BoruvkaMST();
+    private ExternalKruskalMST externalKruskal = new ExternalKruskalMST();
+    private long maxInMemoryEdges = KruskalMST.maxInMemoryEdges();
+    private ExecutorService executor;
+    private int maxGraphsInFlight;
+    private MSTResultCache cache;
+    private int warmupRuns;
+    private int measuredRuns;
+    private boolean probing;
+    private EnginePlanner planner;
+    private boolean spanningForest;
+
+    /**
+     * Creates an analyzer that processes graphs one at a time
+     */
+    public MSTAnalyzer() {
+        this(null);
+    }
+
+    /**
+     * Creates an analyzer for concurrent batch mode
+     * @param executor executor running graphs and algorithms concurrently (see {@link BatchExecutors}),
+     *                 or null for sequential analysis; the caller keeps ownership of it
+     */
+    public MSTAnalyzer(ExecutorService executor) {
+        this(executor, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an analyzer for concurrent batch mode with a bounded parse-ahead window
+     * @param executor executor running graphs and algorithms concurrently, or null for sequential analysis
+     * @param maxGraphsInFlight how many parsed graphs may wait for or undergo analysis at once;
+     *                          parsing pauses when the window is full
+     */
+    public MSTAnalyzer(ExecutorService executor, int maxGraphsInFlight) {
+        this.executor = executor;
+        this.maxGraphsInFlight = Math.max(1, maxGraphsInFlight);
+    }
+
+    /**
+     * Enables reuse of results for graphs that were already solved
+     * @param cache result cache consulted before running each engine, or null to always recompute
+     */
+    public void setResultCache(MSTResultCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Enables measurement mode: each engine runs {@code warmupRuns} discarded times and then
+     * {@code measuredRuns} timed times per graph, and the results carry {@link TimingStats}.
+     * Measured runs bypass the result cache. Concurrent mode runs several graphs at once,
+     * so use sequential mode for the least noisy samples.
+     * @param warmupRuns discarded runs per engine and graph
+     * @param measuredRuns timed runs per engine and graph, or 0 to disable measurement mode
+     */
+    public void setMeasurement(int warmupRuns, int measuredRuns) {
+        if (warmupRuns < 0 || measuredRuns < 0) {
+            throw new IllegalArgumentException("Run counts must not be negative");
+        }
+        this.warmupRuns = warmupRuns;
+        this.measuredRuns = measuredRuns;
+    }
+
+    /**
+     * Enables instrumentation: every engine run reports to a {@link CountingProbe} and the
+     * per-phase event counts are written with the results. Probed runs bypass the result cache.
+     * @param probing true to count events, false to run with {@link MSTProbe#NOOP}
+     */
+    public void setProbing(boolean probing) {
+        this.probing = probing;
+    }
+
+    /**
+     * Enables fastest mode: instead of running both Prim and Kruskal, the planner picks one
+     * engine per graph from its cost model, and the choice and its reason are written with
+     * the result. Caching, measurement and probing apply to the chosen engine.
+     * @param planner cost-model planner (see {@link EnginePlanner#loadDefault()}), or null to compare both engines
+     */
+    public void setPlanner(EnginePlanner planner) {
+        this.planner = planner;
+    }
+
+    /**
+     * Enables spanning-forest mode: connected components are found up front and every engine
+     * solves each component separately, in parallel, so disconnected networks get a complete
+     * forest from every engine and a per-component breakdown in the output. Forest results
+     * bypass the result cache.
+     * @param spanningForest true to compute minimum spanning forests
+     */
+    public void setSpanningForest(boolean spanningForest) {
+        this.spanningForest = spanningForest;
+    }
+
+    /**
+     * Configures the out-of-core fallback of Kruskal: edge lists read in place, such as
+     * binary input, with more edges than fit the in-memory sort are solved by sorting runs
+     * on disk instead. By default the limit is {@link KruskalMST#maxInMemoryEdges()}.
+     * @param externalKruskal engine with the buffer size and temporary directory to use
+     * @param maxInMemoryEdges largest edge count sorted in memory
+     */
+    public void setExternalKruskal(ExternalKruskalMST externalKruskal, long maxInMemoryEdges) {
+        this.externalKruskal = externalKruskal;
+        this.maxInMemoryEdges = maxInMemoryEdges;
+    }
 
     public void analyzeAndSaveResults() {
-        try {
-            List<Graph> graphs = readInputGraphs("data/input.json");
-            System.out.println("📁 Loaded " + graphs.size() + " graphs for analysis");
+        analyzeAndSaveResults("data/input.json", "data/output.json");
+    }
 
-            List<AnalysisResult> results = new ArrayList<>();
-            for (int i = 0; i < graphs.size(); i++) {
-                Graph graph = graphs.get(i);
-                System.out.println("🔍 Analyzing graph " + (i + 1) + "/" + graphs.size() +
-                        " (V=" + graph.getVertexCount() + ", E=" + graph.getEdgeCount() + ")...");
-                results.add(analyzeGraph(i + 1, graph));
+    /**
+     * Analyzes every graph of an input file and streams the results to disk as they complete
+     * @param inputFile JSON file in the {@link InputData} format, or a binary graph file
+     *                  (see {@link BinaryGraphFormat}), which is memory-mapped instead of parsed
+     * @param outputFile destination of the JSON results; a {@code .gz} suffix enables gzip
+     */
+    public void analyzeAndSaveResults(String inputFile, String outputFile) {
+        Summary summary = new Summary(planner != null);
+        File input = new File(inputFile);
+        try (GraphSource source = openSource(input);
+             ResultJsonWriter writer = new ResultJsonWriter(new File(outputFile))) {
+            if (executor == null) {
+                analyzeSequentially(source, writer, summary);
+            } else {
+                analyzeConcurrently(source, writer, summary);
+            }
+            System.out.println("📁 Analyzed " + summary.total + " graphs");
+            if (cache != null) {
+                System.out.println("💾 Result cache: " + cache.getHitCount() + " hits, " +
+                        cache.getMissCount() + " misses");
             }
-
-            saveResultsToJson(results, "data/output.json");
-            printSummary(results);
 
         } catch (IOException e) {
             throw new RuntimeException("Error during analysis: " + e.getMessage(), e);
         }
+        summary.print();
     }
 
-    private AnalysisResult analyzeGraph(int graphId, Graph graph) {
-        try {
-            MSTResult primResult = prim.findMST(graph);
-            MSTResult kruskalResult = kruskal.findMST(graph);
-
-            // Calculate theoretical complexities for comparison
-            long primTheoretical = calculatePrimTheoretical(graph);
-            long kruskalTheoretical = calculateKruskalTheoretical(graph);
+    private GraphSource openSource(File input) throws IOException {
+        if (BinaryGraphReader.isBinaryGraphFile(input)) {
+            BinaryGraphReader reader = new BinaryGraphReader(input);
+            return new GraphSource() {
+                @Override
+                public GraphJob next() throws IOException {
+                    MappedGraph graph = reader.next();
+                    return graph == null ? null : new GraphJob(graph);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    reader.close();
+                }
+            };
+        }
 
-            System.out.println("  Prim: " + primResult.getOperationsCount() + " ops (theoretical: " + primTheoretical + ")");
-            System.out.println("  Kruskal: " + kruskalResult.getOperationsCount() + " ops (theoretical: " + kruskalTheoretical + ")");
+        GraphStreamReader reader = new GraphStreamReader(input);
+        return new GraphSource() {
+            @Override
+            public GraphJob next() throws IOException {
+                CompactGraph graph = reader.next();
+                return graph == null ? null : new GraphJob(graph);
+            }
 
-            return new AnalysisResult(graphId, graph, primResult, kruskalResult);
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        };
+    }
 
-        } catch (Exception e) {
-            System.err.println("Error analyzing graph " + graphId + ": " + e.getMessage());
-            return new AnalysisResult(graphId, graph, null, null);
+    /**
+     * Reads, analyzes and writes graphs one at a time, so only a single graph is held in memory
+     */
+    private void analyzeSequentially(GraphSource source, ResultJsonWriter writer,
+                                     Summary summary) throws IOException {
+        GraphJob job;
+        while ((job = source.next()) != null) {
+            int graphId = summary.total + 1;
+            System.out.println("🔍 Analyzing graph " + graphId +
+                    " (V=" + job.vertexCount + ", E=" + job.edgeCount + ")...");
+            AnalysisResult result = analyzeGraph(graphId, job, true);
+            writer.write(result);
+            summary.add(result);
         }
     }
 
-    private long calculatePrimTheoretical(Graph graph) {
-        // Prim: O(E log V) operations
-        if (graph.getEdgeCount() == 0) return 0;
-        return (long)(graph.getEdgeCount() * Math.log(graph.getVertexCount()) / Math.log(2));
+    /**
+     * Analyzes one in-memory graph with the current settings, without console output;
+     * safe to call from many threads at once
+     * @param graphId id recorded in the result
+     * @param graph the graph to solve
+     * @return the analysis outcome, unsuccessful if an engine failed
+     */
+    public AnalysisResult analyze(int graphId, CompactGraph graph) {
+        return analyzeGraph(graphId, new GraphJob(graph), false);
     }
 
-    private long calculateKruskalTheoretical(Graph graph) {
-        // Kruskal: O(E log E) operations for sorting + O(E) for Union-Find
-        if (graph.getEdgeCount() == 0) return 0;
-        return (long)(graph.getEdgeCount() * Math.log(graph.getEdgeCount()) / Math.log(2)) + graph.getEdgeCount();
+    /**
+     * Analyzes one edge list, such as a memory-mapped binary graph, without console output
+     * @param graphId id recorded in the result
+     * @param edges the graph to solve
+     * @return the analysis outcome, unsuccessful if an engine failed
+     */
+    public AnalysisResult analyze(int graphId, EdgeList edges) {
+        return analyzeGraph(graphId, new GraphJob(edges), false);
     }
 
-    private List<Graph> readInputGraphs(String filename) throws IOException {
-        List<Graph> graphs = new ArrayList<>();
-        InputData inputData = objectMapper.readValue(new File(filename), InputData.class);
-
-        for (GraphInput graphInput : inputData.getGraphs()) {
-            Graph graph = convertToGraph(graphInput);
-            graphs.add(graph);
+    private AnalysisResult analyzeGraph(int graphId, GraphJob job, boolean report) {
+        if (planner != null) {
+            AnalysisResult result = analyzePlanned(graphId, job);
+            if (report) {
+                printPlan(result);
+            }
+            return result;
         }
+        try {
+            CountingProbe primProbe = probing ? new CountingProbe() : null;
+            CountingProbe kruskalProbe = probing ? new CountingProbe() : null;
+            MSTResult primResult = runEngine(job, "prim", primProbe, probe -> solve(job, "prim", probe));
+            MSTResult kruskalResult = runEngine(job, "kruskal", kruskalProbe, probe -> solve(job, "kruskal", probe));
+
+            if (report) {
+                printOperations(job, primResult, kruskalResult);
+            }
+            return new AnalysisResult(graphId, job.vertexCount, job.edgeCount, primResult, kruskalResult,
+                    primProbe, kruskalProbe);
 
-        return graphs;
+        } catch (Exception e) {
+            System.err.println("Error analyzing graph " + graphId + ": " + e.getMessage());
+            return new AnalysisResult(graphId, job.vertexCount, job.edgeCount, null, null);
+        }
     }
 
-    private Graph convertToGraph(GraphInput graphInput) {
-        Graph graph = new Graph();
+    /**
+     * Runs only the engine the planner predicts to be fastest
+     */
+    private AnalysisResult analyzePlanned(int graphId, GraphJob job) {
+        EnginePlanner.Plan plan = null;
+        try {
+            plan = planner.plan(job.vertexCount, job.edgeCount, job.weightRange());
+            String engine = plan.getEngine();
+            CountingProbe probe = probing ? new CountingProbe() : null;
+            MSTResult result = runEngine(job, engine, probe, p -> solve(job, engine, p));
+            return new AnalysisResult(graphId, job.vertexCount, job.edgeCount, plan, result, probe);
 
-        for (String node : graphInput.getNodes()) {
-            graph.addVertex(node);
+        } catch (Exception e) {
+            System.err.println("Error analyzing graph " + graphId + ": " + e.getMessage());
+            return plan == null
+                    ? new AnalysisResult(graphId, job.vertexCount, job.edgeCount, null, null)
+                    : new AnalysisResult(graphId, job.vertexCount, job.edgeCount, plan, null, null);
         }
+    }
 
-        for (EdgeInput edgeInput : graphInput.getEdges()) {
-            graph.addEdge(edgeInput.getFrom(), edgeInput.getTo(), edgeInput.getWeight());
+    /**
+     * Runs an engine by name, as a spanning forest in forest mode; the probe only sees the
+     * engines that report to one
+     */
+    private MSTResult solve(GraphJob job, String engine, MSTProbe probe) {
+        if (spanningForest) {
+            return new MinimumSpanningForest((component, p) -> solve(component, engine, p))
+                    .findForest(job.compact(), probe);
+        }
+        if (engine.equals("kruskal") && job.edges != null && job.edgeCount > maxInMemoryEdges) {
+            return externalKruskal.findMST(job.edges); // sorts runs on disk; reports no probe events
         }
+        if (engine.equals("kruskal")) {
+            return job.runKruskal(kruskal, probe);
+        }
+        if (engine.equals("boruvka") && job.edges != null) {
+            return boruvka.findMST(job.edges); // streams over mapped edges without a CSR copy
+        }
+        return solve(job.compact(), engine, probe);
+    }
 
-        return graph;
+    private MSTResult solve(CompactGraph graph, String engine, MSTProbe probe) {
+        switch (engine) {
+            case "prim":
+                return prim.findMST(graph, probe);
+            case "dense-prim":
+                return densePrim.findMST(graph);
+            case "kruskal":
+                return kruskal.findMST(graph, probe);
+            case "filter-kruskal":
+                return filterKruskal.findMST(graph);
+            case "boruvka":
+                return boruvka.findMST(graph);
+            default:
+                throw new IllegalArgumentException("Unknown engine: " + engine);
+        }
     }
 
-    private void saveResultsToJson(List<AnalysisResult> results, String filename) throws IOException {
-        FileWriter writer = new FileWriter(filename);
-        writer.write("{\n  \"results\": [\n");
+    /**
+     * Streams graphs from the source and analyzes them on the executor while the next
+     * graph is being read. Prim and Kruskal of the same graph run as separate tasks; with
+     * {@link BatchExecutors#platformThreads(int)} queued tasks start largest graph first.
+     * Finished results are written in graph-id order as soon as all earlier graphs are
+     * written; at most {@code maxGraphsInFlight} graphs are pending at once.
+     */
+    private void analyzeConcurrently(GraphSource source, ResultJsonWriter writer,
+                                     Summary summary) throws IOException {
+        Deque<CompletableFuture<AnalysisResult>> pending = new ArrayDeque<>();
+        int submitted = 0;
+
+        GraphJob job;
+        while ((job = source.next()) != null) {
+            pending.addLast(analyzeAsync(++submitted, job));
+
+            // Write every finished result at the head; wait for the head when the window is full
+            while (!pending.isEmpty() && (pending.peekFirst().isDone() || pending.size() >= maxGraphsInFlight)) {
+                AnalysisResult result = pending.removeFirst().join();
+                writer.write(result);
+                summary.add(result);
+            }
+        }
 
-        for (int i = 0; i < results.size(); i++) {
-            AnalysisResult result = results.get(i);
-            writer.write(result.toJson());
-            if (i < results.size() - 1) writer.write(",");
-            writer.write("\n");
+        while (!pending.isEmpty()) {
+            AnalysisResult result = pending.removeFirst().join();
+            writer.write(result);
+            summary.add(result);
         }
+    }
 
-        writer.write("  ]\n}");
-        writer.close();
+    private CompletableFuture<AnalysisResult> analyzeAsync(int graphId, GraphJob job) {
+        long size = job.edgeCount + job.vertexCount;
+        if (planner != null) {
+            return runAsync(size, () -> {
+                AnalysisResult result = analyzePlanned(graphId, job);
+                synchronized (System.out) {
+                    System.out.println("🔍 Analyzed graph " + graphId +
+                            " (V=" + job.vertexCount + ", E=" + job.edgeCount + ")");
+                    printPlan(result);
+                }
+                return result;
+            });
+        }
+        CountingProbe primProbe = probing ? new CountingProbe() : null;
+        CountingProbe kruskalProbe = probing ? new CountingProbe() : null;
+        CompletableFuture<MSTResult> primFuture = runAsync(size,
+                () -> runEngine(job, "prim", primProbe, probe -> solve(job, "prim", probe)));
+        CompletableFuture<MSTResult> kruskalFuture = runAsync(size,
+                () -> runEngine(job, "kruskal", kruskalProbe, probe -> solve(job, "kruskal", probe)));
+
+        return primFuture
+                .thenCombine(kruskalFuture, (primResult, kruskalResult) -> {
+                    synchronized (System.out) {
+                        System.out.println("🔍 Analyzed graph " + graphId +
+                                " (V=" + job.vertexCount + ", E=" + job.edgeCount + ")");
+                        printOperations(job, primResult, kruskalResult);
+                    }
+                    return new AnalysisResult(graphId, job.vertexCount, job.edgeCount, primResult, kruskalResult,
+                            primProbe, kruskalProbe);
+                })
+                .exceptionally(e -> {
+                    System.err.println("Error analyzing graph " + graphId + ": " + e.getMessage());
+                    return new AnalysisResult(graphId, job.vertexCount, job.edgeCount, null, null);
+                });
     }
 
-    private void printSummary(List<AnalysisResult> results) {
-        System.out.println("\n📈 PERFORMANCE SUMMARY");
-        System.out.println("========================================================================");
-        System.out.println("Graph ID | Vertices | Edges | Prim Time | Kruskal Time | Prim Ops | Kruskal Ops | Cost");
-        System.out.println("--------|----------|-------|-----------|--------------|----------|-------------|-----");
+    private <T> CompletableFuture<T> runAsync(long size, Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(BatchExecutors.prioritized(size, () -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }));
+        return future;
+    }
 
-        int successful = 0;
-        for (AnalysisResult result : results) {
-            if (result.primResult != null && result.kruskalResult != null) {
-                System.out.printf("%8d|%10d|%7d|%11d|%14d|%10d|%13d|%5d\n",
-                        result.graphId,
-                        result.graph.getVertexCount(),
-                        result.graph.getEdgeCount(),
-                        result.primResult.getExecutionTime(),
-                        result.kruskalResult.getExecutionTime(),
-                        result.primResult.getOperationsCount(),
-                        result.kruskalResult.getOperationsCount(),
-                        result.primResult.getTotalCost());
-                successful++;
+    /**
+     * Runs an engine on a graph: measured repeatedly in measurement mode, otherwise served
+     * from the cache when possible and stored on a miss. Only spanning trees are stored: on a
+     * disconnected graph Prim's result depends on the start vertex, which the content key
+     * ignores. A counting probe is reset before every run, so it ends up holding the events
+     * of the last run.
+     */
+    private MSTResult runEngine(GraphJob job, String engine, CountingProbe probe,
+                                Function<MSTProbe, MSTResult> run) {
+        Supplier<MSTResult> compute = probe == null
+                ? () -> run.apply(MSTProbe.NOOP)
+                : () -> run.apply(probe.reset());
+        if (measuredRuns > 0) {
+            return measure(compute);
+        }
+        if (cache == null || probe != null || spanningForest) {
+            return compute.get();
+        }
+        String key = job.fingerprint();
+        MSTResult result = cache.get(key, engine);
+        if (result == null) {
+            result = compute.get();
+            if (result.getMstEdges().size() == job.vertexCount - 1) {
+                cache.put(key, engine, result);
             }
         }
+        return result;
+    }
+
+    private MSTResult measure(Supplier<MSTResult> compute) {
+        for (int i = 0; i < warmupRuns; i++) {
+            compute.get();
+        }
+        long[] samples = new long[measuredRuns];
+        MSTResult last = null;
+        for (int i = 0; i < measuredRuns; i++) {
+            last = compute.get();
+            samples[i] = last.getExecutionTimeNanos();
+        }
+        return last.withTimingStats(new TimingStats(warmupRuns, samples));
+    }
 
-        System.out.println("========================================================================");
-        System.out.println("✅ Successfully analyzed: " + successful + "/" + results.size() + " graphs");
+    private void printOperations(GraphJob job, MSTResult primResult, MSTResult kruskalResult) {
+        // Calculate theoretical complexities for comparison
+        long primTheoretical = calculatePrimTheoretical(job.vertexCount, job.edgeCount);
+        long kruskalTheoretical = calculateKruskalTheoretical(job.edgeCount);
 
-        // Print complexity analysis
-        printComplexityAnalysis(results);
+        System.out.println("  Prim: " + primResult.getOperationsCount() + " ops (theoretical: " + primTheoretical + ")");
+        System.out.println("  Kruskal: " + kruskalResult.getOperationsCount() + " ops (theoretical: " + kruskalTheoretical + ")");
     }
 
-    private void printComplexityAnalysis(List<AnalysisResult> results) {
-        System.out.println("\n🔬 COMPLEXITY ANALYSIS");
-        System.out.println("Theoretical complexities:");
-        System.out.println("- Prim: O(E log V) operations");
-        System.out.println("- Kruskal: O(E log E) operations");
-        System.out.println("Note: Operations should be comparable for same graph size");
+    private void printPlan(AnalysisResult result) {
+        EnginePlanner.Plan plan = result.getPlan();
+        if (plan == null) {
+            return;
+        }
+        System.out.println("  Planner chose " + plan.getEngine() + ": " + plan.getReason());
+        if (result.isSuccessful()) {
+            System.out.println("  " + plan.getEngine() + ": " + result.getPlannedResult().getOperationsCount() + " ops");
+        }
     }
 
-    private static class AnalysisResult {
-        int graphId;
-        Graph graph;
-        MSTResult primResult;
-        MSTResult kruskalResult;
+    private long calculatePrimTheoretical(int vertexCount, long edgeCount) {
+        // Prim: O(E log V) operations
+        if (edgeCount == 0) return 0;
+        return (long)(edgeCount * Math.log(vertexCount) / Math.log(2));
+    }
 
-        AnalysisResult(int graphId, Graph graph, MSTResult primResult, MSTResult kruskalResult) {
-            this.graphId = graphId;
-            this.graph = graph;
-            this.primResult = primResult;
-            this.kruskalResult = kruskalResult;
+    private long calculateKruskalTheoretical(long edgeCount) {
+        // Kruskal: O(E log E) operations for sorting + O(E) for Union-Find
+        if (edgeCount == 0) return 0;
+        return (long)(edgeCount * Math.log(edgeCount) / Math.log(2)) + edgeCount;
+    }
+
+    /**
+     * Sequence of graphs to analyze, read from JSON or a binary graph file
+     */
+    private interface GraphSource extends Closeable {
+        /** @return the next graph, or null when the input is exhausted */
+        GraphJob next() throws IOException;
+    }
+
+    /**
+     * One graph ready for analysis: either a parsed CSR graph, or a memory-mapped binary
+     * section that Kruskal and Borůvka read in place and the other engines turn into CSR
+     * adjacency on demand
+     */
+    private static class GraphJob {
+        private final int vertexCount;
+        private final long edgeCount;
+        private final EdgeList edges;
+        private CompactGraph compact;
+        private String fingerprint;
+        private long weightRange = -1;
+
+        GraphJob(CompactGraph compact) {
+            this.vertexCount = compact.getVertexCount();
+            this.edgeCount = compact.getEdgeCount();
+            this.edges = null;
+            this.compact = compact;
+        }
+
+        GraphJob(EdgeList edges) {
+            this.vertexCount = edges.getVertexCount();
+            this.edgeCount = edges.getEdgeCount();
+            this.edges = edges;
         }
 
-        String toJson() {
-            if (primResult == null || kruskalResult == null) {
-                return String.format("    {\"graph_id\": %d, \"error\": \"Analysis failed\"}", graphId);
+        synchronized CompactGraph compact() {
+            if (compact == null) {
+                compact = CompactGraph.fromEdgeList(edges);
             }
+            return compact;
+        }
 
-            StringBuilder json = new StringBuilder();
-            json.append("    {\n");
-            json.append("      \"graph_id\": ").append(graphId).append(",\n");
-            json.append("      \"input_stats\": {\n");
-            json.append("        \"vertices\": ").append(graph.getVertexCount()).append(",\n");
-            json.append("        \"edges\": ").append(graph.getEdgeCount()).append("\n");
-            json.append("      },\n");
+        synchronized long weightRange() {
+            if (weightRange < 0) {
+                weightRange = edges != null ? EnginePlanner.weightRange(edges) : EnginePlanner.weightRange(compact());
+            }
+            return weightRange;
+        }
+
+        synchronized String fingerprint() {
+            if (fingerprint == null) {
+                fingerprint = edges != null ? MSTResultCache.fingerprint(edges) : MSTResultCache.fingerprint(compact());
+            }
+            return fingerprint;
+        }
 
-            json.append("      \"prim\": ").append(resultToJson(primResult)).append(",\n");
-            json.append("      \"kruskal\": ").append(resultToJson(kruskalResult)).append("\n");
-            json.append("    }");
-            return json.toString();
+        MSTResult runKruskal(KruskalMST kruskal, MSTProbe probe) {
+            return edges != null ? kruskal.findMST(edges, probe) : kruskal.findMST(compact(), probe);
         }
+    }
 
-        private String resultToJson(MSTResult result) {
-            StringBuilder json = new StringBuilder();
-            json.append("{\n");
-            json.append("        \"mst_edges\": [\n");
+    /**
+     * Per-graph figures for the console summary, kept after the full results are written
+     */
+    private static class Summary {
+        private final List<String> rows = new ArrayList<>();
+        private final Map<String, Integer> chosenEngines = new TreeMap<>();
+        private final boolean planned;
+        private int total;
+        private int successful;
+
+        Summary(boolean planned) {
+            this.planned = planned;
+        }
 
-            List<Edge> edges = result.getMstEdges();
-            for (int i = 0; i < edges.size(); i++) {
-                Edge edge = edges.get(i);
-                json.append("          {\"from\": \"").append(edge.getFrom())
-                        .append("\", \"to\": \"").append(edge.getTo())
-                        .append("\", \"weight\": ").append(edge.getWeight()).append("}");
-                if (i < edges.size() - 1) json.append(",");
-                json.append("\n");
+        void add(AnalysisResult result) {
+            total++;
+            if (result.isSuccessful() && planned) {
+                String engine = result.getPlan().getEngine();
+                rows.add(String.format("%8d|%10d|%7d|%-14s|%10.3f|%10d|%5d",
+                        result.getGraphId(),
+                        result.getVertexCount(),
+                        result.getEdgeCount(),
+                        engine,
+                        millis(result.getPlannedResult()),
+                        result.getPlannedResult().getOperationsCount(),
+                        result.getPlannedResult().getTotalCost()));
+                chosenEngines.merge(engine, 1, Integer::sum);
+                successful++;
+            } else if (result.isSuccessful()) {
+                rows.add(String.format("%8d|%10d|%7d|%11.3f|%14.3f|%10d|%13d|%5d",
+                        result.getGraphId(),
+                        result.getVertexCount(),
+                        result.getEdgeCount(),
+                        millis(result.getPrimResult()),
+                        millis(result.getKruskalResult()),
+                        result.getPrimResult().getOperationsCount(),
+                        result.getKruskalResult().getOperationsCount(),
+                        result.getPrimResult().getTotalCost()));
+                successful++;
             }
+        }
 
-            json.append("        ],\n");
-            json.append("        \"total_cost\": ").append(result.getTotalCost()).append(",\n");
-            json.append("        \"operations_count\": ").append(result.getOperationsCount()).append(",\n");
-            json.append("        \"execution_time_ms\": ").append(result.getExecutionTime()).append("\n");
-            json.append("      }");
+        /**
+         * Execution time in fractional milliseconds, using the median in measurement mode
+         */
+        private static double millis(MSTResult result) {
+            TimingStats timing = result.getTimingStats();
+            long nanos = timing != null ? timing.getMedian() : result.getExecutionTimeNanos();
+            return nanos / 1_000_000.0;
+        }
+
+        void print() {
+            System.out.println("\n📈 PERFORMANCE SUMMARY");
+            System.out.println("========================================================================");
+            if (planned) {
+                System.out.println("Graph ID | Vertices | Edges | Engine       | Time (ms) | Ops      | Cost");
+                System.out.println("--------|----------|-------|--------------|-----------|----------|-----");
+            } else {
+                System.out.println("Graph ID | Vertices | Edges | Prim (ms) | Kruskal (ms) | Prim Ops | Kruskal Ops | Cost");
+                System.out.println("--------|----------|-------|-----------|--------------|----------|-------------|-----");
+            }
+            for (String row : rows) {
+                System.out.println(row);
+            }
+            System.out.println("========================================================================");
+            System.out.println("✅ Successfully analyzed: " + successful + "/" + total + " graphs");
+            if (planned) {
+                System.out.println("🧭 Engines chosen by the planner: " + chosenEngines);
+                return;
+            }
 
-            return json.toString();
+            // Print complexity analysis
+            System.out.println("\n🔬 COMPLEXITY ANALYSIS");
+            System.out.println("Theoretical complexities:");
+            System.out.println("- Prim: O(E log V) operations");
+            System.out.println("- Kruskal: O(E log E) operations");
+            System.out.println("Note: Operations should be comparable for same graph size");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package com.transportation;
+
+/**
+ * Instrumentation hooks for the hot paths of the MST engines.
+ * All methods default to no-ops. When only {@link #NOOP} reaches a call site the JIT inlines
+ * the empty bodies and the hooks cost nothing; {@link CountingProbe} records every event.
+ * A probe instance observes one run at a time and need not be thread-safe.
+ */
+public interface MSTProbe {
+    /** Probe that ignores every event. */
+    MSTProbe NOOP = new MSTProbe() { };
+
+    /** Estimated comparisons or bucket passes of an edge sort. */
+    default void sortOperations(long operations) { }
+
+    default void heapPush() { }
+
+    default void heapPop() { }
+
+    default void heapDecreaseKey() { }
+
+    default void find() { }
+
+    default void union() { }
+
+    /** One parent-pointer rewrite during path compression. */
+    default void compressionStep() { }
+
+    /** An edge examined by the main loop of an engine. */
+    default void edgeScanned() { }
+
+    /** A scanned edge that could not join the tree (cycle or no improvement). */
+    default void edgeRejected() { }
+}
@@ -10,12 +10,40 @@ public class MSTResult {
     private int totalCost;
     private long operationsCount;
     private long executionTime;
+    private long executionTimeNanos;
+    private TimingStats timingStats;
 
     public MSTResult(List<Edge> mstEdges, int totalCost, long operationsCount, long executionTime) {
+        this(mstEdges, totalCost, operationsCount, executionTime, executionTime * 1_000_000);
+    }
+
+    public MSTResult(List<Edge> mstEdges, int totalCost, long operationsCount,
+                     long executionTime, long executionTimeNanos) {
+        this(mstEdges, totalCost, operationsCount, executionTime, executionTimeNanos, null);
+    }
+
+    /**
+     * @param executionTime wall-clock time in milliseconds
+     * @param executionTimeNanos wall-clock time in nanoseconds
+     * @param timingStats statistics over repeated measured runs, or null for a single run
+     */
+    public MSTResult(List<Edge> mstEdges, int totalCost, long operationsCount,
+                     long executionTime, long executionTimeNanos, TimingStats timingStats) {
         this.mstEdges = mstEdges;
         this.totalCost = totalCost;
         this.operationsCount = operationsCount;
         this.executionTime = executionTime;
+        this.executionTimeNanos = executionTimeNanos;
+        this.timingStats = timingStats;
+    }
+
+    /**
+     * Copy of this result carrying statistics over repeated runs
+     * @param timingStats statistics of the measured runs
+     * @return a result of the same type with the given statistics
+     */
+    public MSTResult withTimingStats(TimingStats timingStats) {
+        return new MSTResult(mstEdges, totalCost, operationsCount, executionTime, executionTimeNanos, timingStats);
     }
 
     // Getters
@@ -23,4 +51,6 @@ public class MSTResult {
     public int getTotalCost() { return totalCost; }
     public long getOperationsCount() { return operationsCount; }
     public long getExecutionTime() { return executionTime; }
-}
\ No newline at end of file
+    public long getExecutionTimeNanos() { return executionTimeNanos; }
+    public TimingStats getTimingStats() { return timingStats; }
+}
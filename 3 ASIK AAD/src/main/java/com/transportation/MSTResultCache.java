@@ -0,0 +1,279 @@
+package com.transportation;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Content-addressed cache of MST results, so unchanged graphs are not solved again on
+ * later batch runs. Results are keyed by {@link #fingerprint(EdgeList)} and an engine name,
+ * held in a bounded in-memory LRU and persisted as one small JSON file per entry.
+ * Lookups that miss memory fall back to disk. All methods are thread-safe.
+ * Cached results keep the operation count and execution time of the run that produced them.
+ * Since the key ignores vertex order, callers should only store results that do not depend on
+ * it, such as spanning trees of connected graphs.
+ */
+public class MSTResultCache {
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final File directory;
+    private final LinkedHashMap<String, MSTResult> memory;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public MSTResultCache() {
+        this(new File("data/cache"), 1024);
+    }
+
+    /**
+     * @param directory where entries are persisted, created on first write; null keeps the cache in memory only
+     * @param maxEntries number of results kept in memory before the least recently used is evicted
+     */
+    public MSTResultCache(File directory, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache must hold at least one entry");
+        }
+        this.directory = directory;
+        this.memory = new LinkedHashMap<String, MSTResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MSTResult> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Computes a canonical key for the vertex set and edge multiset of a graph.
+     * Vertex and edge order, edge direction and self-loops do not affect the key.
+     * Each vertex and edge is mixed into a 64-bit fingerprint and the fingerprints are combined
+     * with two independent commutative sums, so the key takes O(V + E) time without sorting;
+     * the sums are then hashed with SHA-256.
+     * @param edges the graph
+     * @return 64 hex digits
+     */
+    public static String fingerprint(EdgeList edges) {
+        MessageDigest sha = sha256();
+        long[] vertexPrint = vertexPrints(sha, edges.getVertexCount(), edges::getVertexName);
+
+        long edgeSum = 0;
+        long edgeMix = 0;
+        long edgeCount = 0;
+        for (long e = 0, m = edges.getEdgeCount(); e < m; e++) {
+            int from = edges.from(e);
+            int to = edges.to(e);
+            if (from == to) {
+                continue;
+            }
+            long print = edgePrint(vertexPrint, from, to, edges.weight(e));
+            edgeSum += print;
+            edgeMix += mix(print ^ GOLDEN);
+            edgeCount++;
+        }
+        return digest(sha, vertexPrint, edgeCount, edgeSum, edgeMix);
+    }
+
+    /**
+     * Same key as {@link #fingerprint(EdgeList)}, read straight from the CSR arrays
+     * without collecting an edge list first
+     * @param graph the graph
+     * @return 64 hex digits
+     */
+    public static String fingerprint(CompactGraph graph) {
+        MessageDigest sha = sha256();
+        long[] vertexPrint = vertexPrints(sha, graph.getVertexCount(), graph::getVertexName);
+
+        long edgeSum = 0;
+        long edgeMix = 0;
+        long edgeCount = 0;
+        for (int u = 0; u < vertexPrint.length; u++) {
+            for (int slot = graph.adjacencyStart(u), end = graph.adjacencyEnd(u); slot < end; slot++) {
+                int v = graph.neighborAt(slot);
+                if (v > u) { // each edge once, self-loops skipped
+                    long print = edgePrint(vertexPrint, u, v, graph.weightAt(slot));
+                    edgeSum += print;
+                    edgeMix += mix(print ^ GOLDEN);
+                    edgeCount++;
+                }
+            }
+        }
+        return digest(sha, vertexPrint, edgeCount, edgeSum, edgeMix);
+    }
+
+    private static long[] vertexPrints(MessageDigest sha, int n, IntFunction<String> name) {
+        long[] vertexPrint = new long[n];
+        for (int v = 0; v < n; v++) {
+            byte[] digest = sha.digest(name.apply(v).getBytes(StandardCharsets.UTF_8));
+            long print = 0;
+            for (int i = 0; i < 8; i++) {
+                print = print << 8 | (digest[i] & 0xFF);
+            }
+            vertexPrint[v] = print;
+        }
+        return vertexPrint;
+    }
+
+    private static long edgePrint(long[] vertexPrint, int from, int to, int weight) {
+        long a = Math.min(vertexPrint[from], vertexPrint[to]);
+        long b = Math.max(vertexPrint[from], vertexPrint[to]);
+        return mix(a + mix(b + mix(weight)));
+    }
+
+    private static String digest(MessageDigest sha, long[] vertexPrint, long edgeCount, long edgeSum, long edgeMix) {
+        int n = vertexPrint.length;
+        long vertexSum = 0;
+        long vertexMix = 0;
+        for (long print : vertexPrint) {
+            vertexSum += print;
+            vertexMix += mix(print ^ GOLDEN);
+        }
+
+        ByteArrayOutputStream summary = new ByteArrayOutputStream(48);
+        try (DataOutputStream out = new DataOutputStream(summary)) {
+            out.writeInt(n);
+            out.writeLong(edgeCount);
+            out.writeLong(vertexSum);
+            out.writeLong(vertexMix);
+            out.writeLong(edgeSum);
+            out.writeLong(edgeMix);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : sha.digest(summary.toByteArray())) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Looks up a result in memory and then on disk
+     * @param key graph fingerprint
+     * @param engine engine name, such as "prim" or "kruskal"
+     * @return the cached result, or null on a miss
+     */
+    public MSTResult get(String key, String engine) {
+        String entry = key + "." + engine;
+        MSTResult result;
+        synchronized (memory) {
+            result = memory.get(entry);
+        }
+        if (result == null) {
+            result = readEntry(entry);
+            if (result != null) {
+                synchronized (memory) {
+                    memory.put(entry, result);
+                }
+            }
+        }
+        (result == null ? misses : hits).incrementAndGet();
+        return result;
+    }
+
+    /**
+     * Stores a result in memory and on disk. A failed disk write only loses persistence.
+     */
+    public void put(String key, String engine, MSTResult result) {
+        String entry = key + "." + engine;
+        synchronized (memory) {
+            memory.put(entry, result);
+        }
+        try {
+            writeEntry(entry, result);
+        } catch (IOException e) {
+            System.err.println("Warning: could not persist cache entry " + entry + ": " + e.getMessage());
+        }
+    }
+
+    // Getters
+    public long getHitCount() { return hits.get(); }
+    public long getMissCount() { return misses.get(); }
+
+    public int getMemorySize() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    private MSTResult readEntry(String entry) {
+        if (directory == null) {
+            return null;
+        }
+        File file = new File(directory, entry + ".json");
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(file);
+            List<Edge> mstEdges = new ArrayList<>();
+            for (JsonNode edge : node.get("mst_edges")) {
+                mstEdges.add(new Edge(edge.get("from").asText(), edge.get("to").asText(), edge.get("weight").asInt()));
+            }
+            return new MSTResult(mstEdges,
+                    node.get("total_cost").asInt(),
+                    node.get("operations_count").asLong(),
+                    node.get("execution_time_ms").asLong(),
+                    node.path("execution_time_ns").asLong(node.get("execution_time_ms").asLong() * 1_000_000));
+        } catch (IOException | RuntimeException e) {
+            // A corrupt or partial entry is treated as a miss and rewritten later
+            return null;
+        }
+    }
+
+    private void writeEntry(String entry, MSTResult result) throws IOException {
+        if (directory == null) {
+            return;
+        }
+        Files.createDirectories(directory.toPath());
+
+        ObjectNode node = objectMapper.createObjectNode();
+        ArrayNode mstEdges = node.putArray("mst_edges");
+        for (Edge edge : result.getMstEdges()) {
+            mstEdges.addObject()
+                    .put("from", edge.getFrom())
+                    .put("to", edge.getTo())
+                    .put("weight", edge.getWeight());
+        }
+        node.put("total_cost", result.getTotalCost());
+        node.put("operations_count", result.getOperationsCount());
+        node.put("execution_time_ms", result.getExecutionTime());
+        node.put("execution_time_ns", result.getExecutionTimeNanos());
+
+        // Write to a temporary file first so readers never see a partial entry
+        Path target = new File(directory, entry + ".json").toPath();
+        Path temp = Files.createTempFile(directory.toPath(), entry, ".tmp");
+        try {
+            objectMapper.writeValue(temp.toFile(), node);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static long mix(long z) {
+        // SplitMix64 finalizer
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.transportation;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Resident MST service on the loopback interface, built on the JDK's HTTP server.
+ * A long-lived JVM pays class loading and JIT compilation once: the engines are warmed up at
+ * startup and one {@link MSTAnalyzer}, with its engines and settings, serves every request.
+ * Requests are handled concurrently, each on its own virtual thread where the runtime has them
+ * (see {@link BatchExecutors#virtualThreads()}).
+ *
+ * <ul>
+ *   <li>{@code POST /mst}: the body is JSON input, either the {@link InputData} shape or a single
+ *   {@link GraphInput} object, or a binary graph file (see {@link BinaryGraphFormat}). The
+ *   response has the {@code "results"} layout of the analyzer output file, and its
+ *   {@code Server-Timing} header carries the time spent reading and solving.</li>
+ *   <li>{@code GET /stats}: request counts and latency percentiles over the recent requests.</li>
+ * </ul>
+ */
+public class MSTServer implements Closeable {
+    public static final int DEFAULT_PORT = 8080;
+    private static final int LATENCY_WINDOW = 1024;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final MSTAnalyzer analyzer;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    // Latencies of the last LATENCY_WINDOW requests, guarded by this
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private long requests;
+    private long graphs;
+    private long failedRequests;
+
+    /**
+     * Binds the server without starting it
+     * @param analyzer analyzer configured for the requests; shared by all of them
+     * @param port TCP port on the loopback address, or 0 for any free port
+     */
+    public MSTServer(MSTAnalyzer analyzer, int port) throws IOException {
+        this.analyzer = analyzer;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = BatchExecutors.virtualThreads();
+        server.setExecutor(executor);
+        server.createContext("/mst", this::handleSolve);
+        server.createContext("/stats", this::handleStats);
+    }
+
+    /**
+     * Runs generated graphs of a few sizes through the whole request path (parsing, solving,
+     * writing) repeatedly, so the first real requests already run compiled code
+     * @param rounds passes over the generated input
+     */
+    public void warmUp(int rounds) throws IOException {
+        List<GraphInput> graphs = new ArrayList<>();
+        for (int size : new int[]{200, 1000, 2000}) {
+            graphs.add(GraphGenerator.generateGraph(graphs.size() + 1, size, 0.05, 42L + size));
+        }
+        byte[] input = new ObjectMapper().writeValueAsBytes(new InputData(graphs));
+        for (int i = 0; i < rounds; i++) {
+            try (ResultJsonWriter writer = new ResultJsonWriter(OutputStream.nullOutputStream())) {
+                for (AnalysisResult result : solve(new ByteArrayInputStream(input))) {
+                    writer.write(result);
+                }
+            }
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /** @return the bound port */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, lets running ones finish for up to a second and releases the threads
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        long startTime = System.nanoTime();
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Use POST with a graph body");
+                return;
+            }
+            List<AnalysisResult> results;
+            try {
+                results = solve(exchange.getRequestBody());
+            } catch (IOException | IllegalArgumentException e) {
+                recordFailure();
+                sendError(exchange, 400, e.getMessage());
+                return;
+            }
+
+            long solveNanos = System.nanoTime() - startTime;
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("Server-Timing",
+                    String.format(Locale.ROOT, "mst;dur=%.3f", solveNanos / 1e6));
+            exchange.sendResponseHeaders(200, 0);
+            try (ResultJsonWriter writer = new ResultJsonWriter(exchange.getResponseBody())) {
+                for (AnalysisResult result : results) {
+                    writer.write(result);
+                }
+            }
+
+            long latency = System.nanoTime() - startTime;
+            record(latency, results.size());
+            System.out.printf(Locale.ROOT, "POST /mst: %d graphs in %.3f ms%n", results.size(), latency / 1e6);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Reads every graph of a request body and analyzes it; binary bodies are recognized by
+     * their magic number and spooled to a temporary file, since the binary reader maps files
+     */
+    private List<AnalysisResult> solve(InputStream body) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(body);
+        in.mark(Integer.BYTES);
+        byte[] head = new byte[Integer.BYTES];
+        int headLength = in.readNBytes(head, 0, head.length);
+        in.reset();
+
+        List<AnalysisResult> results = new ArrayList<>();
+        if (headLength == head.length
+                && ByteBuffer.wrap(head).order(ByteOrder.LITTLE_ENDIAN).getInt() == BinaryGraphFormat.MAGIC) {
+            Path spool = Files.createTempFile("mst-request", ".bin");
+            try {
+                Files.copy(in, spool, StandardCopyOption.REPLACE_EXISTING);
+                try (BinaryGraphReader reader = new BinaryGraphReader(spool.toFile())) {
+                    MappedGraph graph;
+                    while ((graph = reader.next()) != null) {
+                        results.add(analyzer.analyze(graph.getId(), graph));
+                    }
+                }
+            } finally {
+                try {
+                    Files.deleteIfExists(spool);
+                } catch (IOException e) {
+                    spool.toFile().deleteOnExit(); // still mapped on some platforms
+                }
+            }
+            return results;
+        }
+
+        try (GraphStreamReader reader = new GraphStreamReader(in)) {
+            CompactGraph graph;
+            while ((graph = reader.next()) != null) {
+                results.add(analyzer.analyze(reader.getLastGraphId(), graph));
+            }
+        }
+        return results;
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Use GET");
+                return;
+            }
+            long[] window;
+            long requestCount;
+            long graphCount;
+            long failureCount;
+            synchronized (this) {
+                requestCount = requests;
+                graphCount = graphs;
+                failureCount = failedRequests;
+                window = Arrays.copyOf(latencies, (int) Math.min(requests, LATENCY_WINDOW));
+            }
+
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(body, JsonEncoding.UTF8)) {
+                generator.useDefaultPrettyPrinter();
+                generator.writeStartObject();
+                generator.writeNumberField("requests", requestCount);
+                generator.writeNumberField("graphs", graphCount);
+                generator.writeNumberField("failed_requests", failureCount);
+                if (window.length > 0) {
+                    TimingStats latency = new TimingStats(0, window);
+                    generator.writeObjectFieldStart("latency_ns");
+                    generator.writeNumberField("samples", latency.getSamples());
+                    generator.writeNumberField("min", latency.getMin());
+                    generator.writeNumberField("median", latency.getMedian());
+                    generator.writeNumberField("p90", latency.getP90());
+                    generator.writeNumberField("p99", latency.getP99());
+                    generator.writeNumberField("max", latency.getMax());
+                    generator.writeNumberField("mean", latency.getMean());
+                    generator.writeEndObject();
+                }
+                generator.writeEndObject();
+            }
+            sendJson(exchange, 200, body.toByteArray());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private synchronized void record(long latencyNanos, int graphCount) {
+        latencies[(int) (requests % LATENCY_WINDOW)] = latencyNanos;
+        requests++;
+        graphs += graphCount;
+    }
+
+    private synchronized void recordFailure() {
+        failedRequests++;
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(body, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeStringField("error", message == null ? "Bad request" : message);
+            generator.writeEndObject();
+        }
+        sendJson(exchange, status, body.toByteArray());
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.transportation;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Reusable scratch memory of the MST engines: heap and union-find arrays, visited flags,
+ * flattened edge arrays and sort buffers. Buffers only grow, to the largest graph seen,
+ * and are reset instead of reallocated, so once warmed up an engine run allocates little
+ * beyond the tree it returns.
+ *
+ * Workspaces are pooled: {@link #acquire()} hands the calling thread an idle workspace,
+ * and {@link #close()} returns it, so every busy worker thread (platform or virtual) holds
+ * one at a time. A workspace whose buffers outgrew its share of the heap is dropped on
+ * close instead of pooled, so a single huge graph does not pin its scratch memory.
+ * A workspace must not be used by two threads at once; the parallel phases of an engine
+ * may share the buffers of the run that owns it.
+ */
+public final class MSTWorkspace implements AutoCloseable {
+    private static final int POOL_SIZE = 2 * Runtime.getRuntime().availableProcessors();
+    /** Pooled workspaces retain at most a quarter of the heap in total. */
+    private static final long MAX_RETAINED_BYTES = Runtime.getRuntime().maxMemory() / 4 / POOL_SIZE;
+    private static final AtomicReferenceArray<MSTWorkspace> IDLE = new AtomicReferenceArray<>(POOL_SIZE);
+
+    private final IndexedMinHeap heap = new IndexedMinHeap(0);
+    private final DisjointSet disjointSet = new DisjointSet(0);
+    private boolean[] visited = new boolean[0];
+    private int[] parent = new int[0];
+    private int[] vertexKeys = new int[0];
+    private AtomicLongArray cheapest = new AtomicLongArray(0);
+
+    private int[] edgeFrom = new int[0];
+    private int[] edgeTo = new int[0];
+    private int[] edgeWeight = new int[0];
+    private int[] sortWeights = new int[0];
+    private int[] sortOrder = new int[0];
+    private int[] sortBuckets = new int[0];
+    private long[] sortKeys = new long[0];
+    private final int[][] edgeScratch = {new int[0], new int[0], new int[0], new int[0], new int[0], new int[0]};
+
+    private boolean inUse;
+
+    /**
+     * Takes an idle workspace from the pool, or creates one; release it with {@link #close()}
+     * @return a workspace owned by the caller until closed
+     */
+    public static MSTWorkspace acquire() {
+        for (int i = 0; i < POOL_SIZE; i++) {
+            MSTWorkspace workspace = IDLE.get(i);
+            if (workspace != null && IDLE.compareAndSet(i, workspace, null)) {
+                workspace.inUse = true;
+                return workspace;
+            }
+        }
+        MSTWorkspace workspace = new MSTWorkspace();
+        workspace.inUse = true;
+        return workspace;
+    }
+
+    /**
+     * Returns the workspace to the pool; the caller must not touch it or its buffers afterwards
+     */
+    @Override
+    public void close() {
+        if (!inUse) {
+            return;
+        }
+        inUse = false;
+        if (getRetainedBytes() > MAX_RETAINED_BYTES) {
+            return;
+        }
+        for (int i = 0; i < POOL_SIZE; i++) {
+            if (IDLE.get(i) == null && IDLE.compareAndSet(i, null, this)) {
+                return;
+            }
+        }
+    }
+
+    /** @return bytes held by the buffers of this workspace */
+    public long getRetainedBytes() {
+        long ints = parent.length + vertexKeys.length + edgeFrom.length + edgeTo.length + edgeWeight.length
+                + sortWeights.length + sortOrder.length + sortBuckets.length
+                + heap.capacity() * 3L + disjointSet.capacity() * 2L;
+        for (int[] scratch : edgeScratch) {
+            ints += scratch.length;
+        }
+        return ints * Integer.BYTES + (sortKeys.length + (long) cheapest.length()) * Long.BYTES + visited.length;
+    }
+
+    /** @return an empty heap over vertex ids {@code 0..n-1} */
+    IndexedMinHeap heap(int n) {
+        heap.reset(n);
+        return heap;
+    }
+
+    /** @return singleton sets over {@code 0..n-1} */
+    DisjointSet disjointSet(int n) {
+        disjointSet.reset(n);
+        return disjointSet;
+    }
+
+    /** @return flags cleared over {@code 0..n-1} */
+    boolean[] visited(int n) {
+        if (visited.length < n) {
+            visited = new boolean[grownLength(visited.length, n)];
+        } else {
+            Arrays.fill(visited, 0, n, false);
+        }
+        return visited;
+    }
+
+    /** @return parent links set to -1 over {@code 0..n-1} */
+    int[] parent(int n) {
+        parent = ensure(parent, n);
+        Arrays.fill(parent, 0, n, -1);
+        return parent;
+    }
+
+    /** @return vertex-indexed ints with unspecified contents */
+    int[] vertexKeys(int n) {
+        vertexKeys = ensure(vertexKeys, n);
+        return vertexKeys;
+    }
+
+    /** @return vertex-indexed atomic longs with unspecified contents */
+    AtomicLongArray cheapest(int n) {
+        if (cheapest.length() < n) {
+            cheapest = new AtomicLongArray(grownLength(cheapest.length(), n));
+        }
+        return cheapest;
+    }
+
+    /**
+     * Flattens the edges of a graph into {@link #edgeFrom()}, {@link #edgeTo()} and {@link #edgeWeight()}
+     * @return the number of edges collected
+     */
+    int collectEdges(CompactGraph graph) {
+        int capacity = graph.getEdgeCount();
+        edgeFrom = ensure(edgeFrom, capacity);
+        edgeTo = ensure(edgeTo, capacity);
+        edgeWeight = ensure(edgeWeight, capacity);
+        return graph.collectEdges(edgeFrom, edgeTo, edgeWeight);
+    }
+
+    int[] edgeFrom() {
+        return edgeFrom;
+    }
+
+    int[] edgeTo() {
+        return edgeTo;
+    }
+
+    int[] edgeWeight() {
+        return edgeWeight;
+    }
+
+    /** @return edge-indexed ints for a copy of the weights to sort by */
+    int[] sortWeights(int m) {
+        sortWeights = ensure(sortWeights, m);
+        return sortWeights;
+    }
+
+    int[] sortOrder(int m) {
+        sortOrder = ensure(sortOrder, m);
+        return sortOrder;
+    }
+
+    /** @return zeroed counting-sort buckets */
+    int[] sortBuckets(int buckets) {
+        if (sortBuckets.length < buckets) {
+            sortBuckets = new int[grownLength(sortBuckets.length, buckets)];
+        } else {
+            Arrays.fill(sortBuckets, 0, buckets, 0);
+        }
+        return sortBuckets;
+    }
+
+    long[] sortKeys(int m) {
+        if (sortKeys.length < m) {
+            sortKeys = new long[grownLength(sortKeys.length, m)];
+        }
+        return sortKeys;
+    }
+
+    /**
+     * General edge-indexed buffers, such as the double-buffered edge lists of Borůvka's contraction
+     * @param index buffer number, {@code 0..5}
+     */
+    int[] edgeScratch(int index, int m) {
+        edgeScratch[index] = ensure(edgeScratch[index], m);
+        return edgeScratch[index];
+    }
+
+    private static int[] ensure(int[] buffer, int length) {
+        return buffer.length >= length ? buffer : new int[grownLength(buffer.length, length)];
+    }
+
+    /**
+     * Grows by at least half, so a run of slightly larger graphs does not reallocate every time
+     */
+    static int grownLength(int current, int required) {
+        return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, current + (long) (current >> 1)));
+    }
+}
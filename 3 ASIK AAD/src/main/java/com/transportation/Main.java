@@ -1,20 +1,137 @@
 package com.transportation;
 
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+
 public class Main {
     public static void main(String[] args) {
         System.out.println("=== City Transportation Network Optimization ===");
         System.out.println("Finding Minimum Spanning Trees using Prim's and Kruskal's algorithms");
 
+        ExecutorService executor = null;
+        boolean binary = false;
+        boolean cache = false;
+        int warmupRuns = 0;
+        int measuredRuns = 0;
+        int sortBuffer = 0;
+        boolean probe = false;
+        boolean fastest = false;
+        boolean calibrate = false;
+        boolean forest = false;
+        boolean euclidean = false;
+        int serverPort = -1;
         try {
-            // Always generate new test data first
-            System.out.println("📁 Generating test data...");
-            GraphGenerator.main(new String[]{});
+            // Optional concurrent batch mode: --threads=N or --virtual-threads
+            // Optional binary input: --binary converts the generated JSON and analyzes the mapped file
+            // Optional result cache: --cache reuses results of unchanged graphs from data/cache
+            // Optional measurement mode: --measure=W,M runs each engine W warmup and M timed times
+            // Optional instrumentation: --probe writes per-phase event counts
+            // Optional fastest mode: --fastest runs only the engine the cost model picks per graph;
+            // --calibrate first re-measures the engines on this machine into data/calibration.json
+            // Optional out-of-core limit: --sort-buffer=EDGES solves larger binary inputs with external Kruskal
+            // sorting runs of EDGES edges on disk
+            // Optional spanning-forest mode: --forest solves every connected component in parallel
+            // Optional geometric mode: --euclidean analyzes the map points of data/input/point_graphs.json
+            // Optional server mode: --serve[=PORT] answers POST /mst on localhost instead of a batch run
+            for (String arg : args) {
+                if (arg.equals("--binary")) {
+                    binary = true;
+                } else if (arg.equals("--cache")) {
+                    cache = true;
+                } else if (arg.equals("--probe")) {
+                    probe = true;
+                } else if (arg.equals("--fastest")) {
+                    fastest = true;
+                } else if (arg.equals("--forest")) {
+                    forest = true;
+                } else if (arg.equals("--serve")) {
+                    serverPort = MSTServer.DEFAULT_PORT;
+                } else if (arg.startsWith("--serve=")) {
+                    Integer port = parseInt(arg.substring("--serve=".length()), 0, 65535);
+                    if (port == null) {
+                        System.err.println("❌ Usage: --serve=PORT with PORT in 0..65535, 0 for any free port (got " + arg + ")");
+                        return;
+                    }
+                    serverPort = port;
+                } else if (arg.equals("--euclidean")) {
+                    euclidean = true;
+                } else if (arg.equals("--calibrate")) {
+                    calibrate = true;
+                    fastest = true;
+                } else if (arg.startsWith("--measure=")) {
+                    int[] runs = parseRunCounts(arg.substring("--measure=".length()));
+                    if (runs == null) {
+                        System.err.println("❌ Usage: --measure=W,M with W warmup and M timed runs, " +
+                                "both non-negative integers (got " + arg + ")");
+                        return;
+                    }
+                    warmupRuns = runs[0];
+                    measuredRuns = runs[1];
+                } else if (arg.startsWith("--sort-buffer=")) {
+                    Integer edges = parseInt(arg.substring("--sort-buffer=".length()), 1, Integer.MAX_VALUE);
+                    if (edges == null) {
+                        System.err.println("❌ Usage: --sort-buffer=EDGES with EDGES a positive integer (got " + arg + ")");
+                        return;
+                    }
+                    sortBuffer = edges;
+                } else if (arg.startsWith("--threads=")) {
+                    Integer threads = parseInt(arg.substring("--threads=".length()), 1, Integer.MAX_VALUE);
+                    if (threads == null) {
+                        System.err.println("❌ Usage: --threads=N with N a positive integer (got " + arg + ")");
+                        return;
+                    }
+                    executor = BatchExecutors.platformThreads(threads);
+                } else if (arg.equals("--virtual-threads")) {
+                    executor = BatchExecutors.virtualThreads();
+                }
+            }
+
+            // Always generate new test data first, except for the server, which reads requests
+            if (serverPort < 0) {
+                System.out.println("📁 Generating test data...");
+                GraphGenerator.main(euclidean ? new String[]{"--points"} : new String[]{});
+            }
+
+            MSTAnalyzer analyzer = new MSTAnalyzer(executor);
+            if (cache) {
+                analyzer.setResultCache(new MSTResultCache());
+            }
+            analyzer.setMeasurement(warmupRuns, measuredRuns);
+            analyzer.setProbing(probe);
+            analyzer.setSpanningForest(forest);
+            if (sortBuffer > 0) {
+                analyzer.setExternalKruskal(new ExternalKruskalMST(sortBuffer, null), sortBuffer);
+            }
+            if (calibrate) {
+                System.out.println("⏱ Calibrating the engine cost model...");
+                EnginePlanner.save(EnginePlanner.calibrate(3, 5), EnginePlanner.LOCAL_CALIBRATION);
+                System.out.println("📊 Calibration saved to: " + EnginePlanner.LOCAL_CALIBRATION);
+            }
+            if (fastest) {
+                analyzer.setPlanner(EnginePlanner.loadDefault());
+            }
 
-            MSTAnalyzer analyzer = new MSTAnalyzer();
+            if (serverPort >= 0) {
+                MSTServer server = new MSTServer(analyzer, serverPort);
+                System.out.println("🔥 Warming up the engines...");
+                server.warmUp(10);
+                server.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+                System.out.println("🌐 Serving POST http://localhost:" + server.getPort() + "/mst" +
+                        " and GET /stats; press Ctrl+C to stop");
+                return; // the server threads keep the JVM alive
+            }
 
             // Run analysis
             System.out.println("🔍 Analyzing transportation networks...");
-            analyzer.analyzeAndSaveResults();
+            String input = euclidean ? "data/input/point_graphs.json" : "data/input.json";
+            if (binary) {
+                int converted = BinaryGraphFormat.convertJson(new File(input), new File("data/input.bin"));
+                System.out.println("📦 Converted " + converted + " graphs to data/input.bin");
+                analyzer.analyzeAndSaveResults("data/input.bin", "data/output.json");
+            } else {
+                analyzer.analyzeAndSaveResults(input, "data/output.json");
+            }
 
             System.out.println("✅ Analysis completed successfully!");
             System.out.println("📊 Results saved to: data/output.json");
@@ -22,6 +139,47 @@ public class Main {
         } catch (Exception e) {
             System.err.println("❌ Error: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Parses an integer option value
+     * @return the value, or null unless it is an int within {@code min..max}
+     */
+    static Integer parseInt(String value, int min, int max) {
+        int parsed;
+        try {
+            parsed = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return parsed < min || parsed > max ? null : parsed;
+    }
+
+    /**
+     * Parses the W,M value of --measure
+     * @return the warmup and timed run counts, or null unless the value is exactly two non-negative ints
+     */
+    static int[] parseRunCounts(String value) {
+        String[] parts = value.split(",", -1);
+        if (parts.length != 2) {
+            return null;
+        }
+        int[] runs = new int[2];
+        for (int i = 0; i < 2; i++) {
+            try {
+                runs[i] = Integer.parseInt(parts[i].trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (runs[i] < 0) {
+                return null;
+            }
         }
+        return runs;
     }
-}
\ No newline at end of file
+}
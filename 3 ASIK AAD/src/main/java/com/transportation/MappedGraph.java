@@ -0,0 +1,64 @@
+package com.transportation;
+
+import java.nio.IntBuffer;
+
+/**
+ * One graph section of a binary graph file, read in place from memory-mapped edge records.
+ * Records are split over several mappings so sections larger than 2 GB are supported.
+ */
+public final class MappedGraph implements EdgeList {
+    /** Records per mapping: 2^26 records of 12 bytes stay well below the 2 GB mapping limit. */
+    static final int CHUNK_SHIFT = 26;
+    static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+    private final int id;
+    private final String[] names;
+    private final IntBuffer[] chunks;
+    private final long edgeCount;
+
+    MappedGraph(int id, String[] names, IntBuffer[] chunks, long edgeCount) {
+        this.id = id;
+        this.names = names;
+        this.chunks = chunks;
+        this.edgeCount = edgeCount;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return names.length;
+    }
+
+    @Override
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public String getVertexName(int vertex) {
+        return names[vertex];
+    }
+
+    @Override
+    public int from(long edge) {
+        return chunks[(int) (edge >>> CHUNK_SHIFT)].get((int) (edge & CHUNK_MASK) * 3);
+    }
+
+    @Override
+    public int to(long edge) {
+        return chunks[(int) (edge >>> CHUNK_SHIFT)].get((int) (edge & CHUNK_MASK) * 3 + 1);
+    }
+
+    @Override
+    public int weight(long edge) {
+        return chunks[(int) (edge >>> CHUNK_SHIFT)].get((int) (edge & CHUNK_MASK) * 3 + 2);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MappedGraph{id=%d, vertices=%d, edges=%d}", id, getVertexCount(), edgeCount);
+    }
+}
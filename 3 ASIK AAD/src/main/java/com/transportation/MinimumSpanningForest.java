@@ -0,0 +1,172 @@
+package com.transportation;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Minimum spanning forest for networks made of several disconnected islands.
+ * A BFS pass over the CSR arrays labels the connected components in O(V + E); each
+ * component is then copied into its own {@link CompactGraph} and solved by a
+ * {@link ComponentSolver} on a {@link ForkJoinPool}, largest component first, so big
+ * islands do not wait for each other. Small components are batched into one task.
+ * Connected graphs are solved in place without copying.
+ */
+public class MinimumSpanningForest {
+    private static final int BATCH_VERTICES = 8192;
+
+    /**
+     * MST engine applied to every connected component
+     */
+    public interface ComponentSolver {
+        MSTResult findMST(CompactGraph component, MSTProbe probe);
+    }
+
+    private final ComponentSolver solver;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a forest solver using Prim's algorithm on the common pool
+     */
+    public MinimumSpanningForest() {
+        this(new PrimMST()::findMST);
+    }
+
+    public MinimumSpanningForest(ComponentSolver solver) {
+        this(solver, ForkJoinPool.commonPool());
+    }
+
+    public MinimumSpanningForest(ComponentSolver solver, ForkJoinPool pool) {
+        this.solver = solver;
+        this.pool = pool;
+    }
+
+    /**
+     * Finds the Minimum Spanning Forest of a graph
+     * @param graph the input graph
+     * @return forest result with a per-component breakdown
+     */
+    public ForestResult findForest(Graph graph) {
+        return findForest(graph.toCompactGraph());
+    }
+
+    public ForestResult findForest(CompactGraph graph) {
+        return findForest(graph, MSTProbe.NOOP);
+    }
+
+    /**
+     * Finds the Minimum Spanning Forest of a graph, solving components in parallel.
+     * A probe observes one run at a time, so with any probe other than {@link MSTProbe#NOOP}
+     * the components are solved one after another on the calling thread.
+     * @param graph the compact input graph
+     * @param probe receives the instrumentation events of every component
+     * @return forest result with a per-component breakdown
+     */
+    public ForestResult findForest(CompactGraph graph, MSTProbe probe) {
+        long startTime = System.nanoTime();
+        int n = graph.getVertexCount();
+        long operations = n;
+
+        // Label components by BFS; the queue ends up holding every component contiguously
+        int[] component = new int[n];
+        int[] localId = new int[n];
+        int[] queue = new int[n];
+        int[] start = new int[n + 1];
+        Arrays.fill(component, -1);
+        int components = 0;
+        int tail = 0;
+        for (int s = 0; s < n; s++) {
+            if (component[s] >= 0) {
+                continue;
+            }
+            start[components] = tail;
+            component[s] = components;
+            localId[s] = 0;
+            queue[tail++] = s;
+            for (int head = start[components]; head < tail; head++) {
+                int u = queue[head];
+                for (int slot = graph.adjacencyStart(u), end = graph.adjacencyEnd(u); slot < end; slot++) {
+                    int v = graph.neighborAt(slot);
+                    operations++;
+                    if (component[v] < 0) {
+                        component[v] = components;
+                        localId[v] = tail - start[components];
+                        queue[tail++] = v;
+                    }
+                }
+            }
+            components++;
+        }
+        start[components] = n;
+
+        MSTResult[] results = new MSTResult[components];
+        if (components == 1) {
+            results[0] = solver.findMST(graph, probe);
+        } else if (components > 1) {
+            // Largest components first, so the longest tasks start earliest
+            long[] bySize = new long[components];
+            for (int c = 0; c < components; c++) {
+                bySize[c] = (long) (n - (start[c + 1] - start[c])) << 32 | c;
+            }
+            Arrays.sort(bySize);
+
+            if (probe != MSTProbe.NOOP) {
+                for (long key : bySize) {
+                    int c = (int) key;
+                    results[c] = solveComponent(graph, queue, localId, start[c], start[c + 1], probe);
+                }
+            } else {
+                List<ForkJoinTask<?>> tasks = new ArrayList<>();
+                int batchFrom = 0;
+                int batchVertices = 0;
+                for (int i = 0; i < components; i++) {
+                    int c = (int) bySize[i];
+                    batchVertices += start[c + 1] - start[c];
+                    if (batchVertices >= BATCH_VERTICES || i == components - 1) {
+                        int from = batchFrom;
+                        int to = i + 1;
+                        tasks.add(pool.submit(() -> {
+                            for (int k = from; k < to; k++) {
+                                int batched = (int) bySize[k];
+                                results[batched] = solveComponent(graph, queue, localId,
+                                        start[batched], start[batched + 1], MSTProbe.NOOP);
+                            }
+                        }));
+                        batchFrom = i + 1;
+                        batchVertices = 0;
+                    }
+                }
+                for (ForkJoinTask<?> task : tasks) {
+                    task.join();
+                }
+            }
+        }
+
+        List<Edge> forestEdges = new ArrayList<>(Math.max(0, n - components));
+        List<ForestResult.Component> breakdown = new ArrayList<>(components);
+        int totalCost = 0;
+        for (int c = 0; c < components; c++) {
+            MSTResult result = results[c];
+            forestEdges.addAll(result.getMstEdges());
+            totalCost += result.getTotalCost();
+            operations += result.getOperationsCount();
+            breakdown.add(new ForestResult.Component(c, graph.getVertexName(queue[start[c]]),
+                    start[c + 1] - start[c], result));
+        }
+
+        long executionTimeNanos = System.nanoTime() - startTime;
+        return new ForestResult(forestEdges, totalCost, operations, executionTimeNanos / 1_000_000,
+                executionTimeNanos, null, breakdown);
+    }
+
+    /**
+     * Copies the component occupying {@code queue[from..to-1]} into its own graph and solves it
+     */
+    private MSTResult solveComponent(CompactGraph graph, int[] queue, int[] localId,
+                                     int from, int to, MSTProbe probe) {
+        if (to - from == 1) {
+            return new MSTResult(new ArrayList<>(), 0, 0, 0, 0);
+        }
+        return solver.findMST(graph.subgraph(queue, from, to, localId), probe);
+    }
+}
@@ -0,0 +1,138 @@
+package com.transportation;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Growable {@link EdgeList} whose edge records live outside the Java heap, in direct buffers.
+ * Records use the 12-byte {@code from, to, weight} layout of {@link MappedGraph} and are split
+ * over segments of 2^24 edges, so the edge count is limited by memory rather than by the
+ * array or buffer size, and the garbage collector never scans the edges.
+ * Direct memory is capped by {@code -XX:MaxDirectMemorySize}, which defaults to the maximum
+ * heap size; raise it when loading large graphs into a small heap. The memory is released
+ * when the list becomes unreachable.
+ * Appending is single-threaded; once filled, the list may be read from many threads.
+ */
+public final class OffHeapEdgeList implements EdgeList {
+    static final int DEFAULT_SEGMENT_SHIFT = 24;
+    private static final int RECORD_INTS = 3;
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    private final List<String> names;
+    private final int segmentShift;
+    private final int segmentMask;
+    private IntBuffer[] segments = new IntBuffer[0];
+    private long edgeCount;
+
+    /**
+     * @param names vertex names indexed by id; the list is read live, so vertices may be added later
+     */
+    public OffHeapEdgeList(List<String> names) {
+        this(names, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /**
+     * @param segmentShift log2 of the edges per segment, at most 27 so a segment stays below 2 GB
+     */
+    OffHeapEdgeList(List<String> names, int segmentShift) {
+        if (segmentShift < 1 || segmentShift > 27) {
+            throw new IllegalArgumentException("Segment shift out of range: " + segmentShift);
+        }
+        this.names = names;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1 << segmentShift) - 1;
+    }
+
+    /**
+     * Appends an edge between two vertex ids
+     */
+    public void add(int from, int to, int weight) {
+        int segment = (int) (edgeCount >>> segmentShift);
+        int offset = (int) (edgeCount & segmentMask) * RECORD_INTS;
+        if (segment == segments.length || offset == segments[segment].capacity()) {
+            grow(segment);
+        }
+        IntBuffer records = segments[segment];
+        records.put(offset, from);
+        records.put(offset + 1, to);
+        records.put(offset + 2, weight);
+        edgeCount++;
+    }
+
+    /**
+     * The first segment doubles from a small capacity until it is full-sized,
+     * later segments are allocated at full size
+     */
+    private void grow(int segment) {
+        int fullSize = (1 << segmentShift) * RECORD_INTS;
+        if (segment == 0) {
+            int capacity = segments.length == 0
+                    ? Math.min(INITIAL_CAPACITY * RECORD_INTS, fullSize)
+                    : Math.min(segments[0].capacity() * 2, fullSize);
+            IntBuffer resized = allocate(capacity);
+            if (segments.length > 0) {
+                IntBuffer old = segments[0].duplicate();
+                old.clear();
+                resized.put(old);
+            } else {
+                segments = new IntBuffer[1];
+            }
+            segments[0] = resized;
+        } else {
+            segments = Arrays.copyOf(segments, segment + 1);
+            segments[segment] = allocate(fullSize);
+        }
+    }
+
+    private static IntBuffer allocate(int ints) {
+        return ByteBuffer.allocateDirect(ints * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    /** @return direct memory reserved for edge records, in bytes */
+    public long getOffHeapBytes() {
+        long bytes = 0;
+        for (IntBuffer segment : segments) {
+            bytes += (long) segment.capacity() * Integer.BYTES;
+        }
+        return bytes;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return names.size();
+    }
+
+    @Override
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public String getVertexName(int vertex) {
+        return names.get(vertex);
+    }
+
+    @Override
+    public int from(long edge) {
+        return segments[(int) (edge >>> segmentShift)].get((int) (edge & segmentMask) * RECORD_INTS);
+    }
+
+    @Override
+    public int to(long edge) {
+        return segments[(int) (edge >>> segmentShift)].get((int) (edge & segmentMask) * RECORD_INTS + 1);
+    }
+
+    @Override
+    public int weight(long edge) {
+        return segments[(int) (edge >>> segmentShift)].get((int) (edge & segmentMask) * RECORD_INTS + 2);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OffHeapEdgeList{vertices=%d, edges=%d, segments=%d}",
+                getVertexCount(), edgeCount, segments.length);
+    }
+}
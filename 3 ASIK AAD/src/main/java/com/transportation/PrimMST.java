@@ -4,7 +4,8 @@ import java.util.*;
 
 /**
  * Implementation of Prim's algorithm for finding Minimum Spanning Trees.
- * Uses a priority queue (min-heap) to efficiently select the next edge.
+ * Walks the per-vertex adjacency and keeps an indexed d-ary min-heap keyed by vertex id,
+ * so each fringe vertex is held once and improved in place with decrease-key.
  */
 public class PrimMST {
 
@@ -14,68 +15,102 @@ public class PrimMST {
      * @return MST result containing edges, cost, and performance metrics
      */
     public MSTResult findMST(Graph graph) {
+        return findMST(graph.toCompactGraph());
+    }
+
+    /**
+     * Finds the Minimum Spanning Tree using Prim's algorithm over the CSR adjacency
+     * @param graph the compact input graph
+     * @return MST result containing edges, cost, and performance metrics
+     */
+    public MSTResult findMST(CompactGraph graph) {
+        return findMST(graph, MSTProbe.NOOP);
+    }
+
+    /**
+     * Finds the Minimum Spanning Tree using Prim's algorithm, reporting heap and edge events
+     * @param graph the compact input graph
+     * @param probe receives instrumentation events
+     * @return MST result containing edges, cost, and performance metrics
+     */
+    public MSTResult findMST(CompactGraph graph, MSTProbe probe) {
+        try (MSTWorkspace workspace = MSTWorkspace.acquire()) {
+            return findMST(graph, probe, workspace);
+        }
+    }
+
+    /**
+     * @param workspace supplies the heap, visited flags and parent links
+     */
+    MSTResult findMST(CompactGraph graph, MSTProbe probe, MSTWorkspace workspace) {
         long startTime = System.nanoTime();
         long operations = 0;
 
-        List<Edge> mstEdges = new ArrayList<>();
+        int n = graph.getVertexCount();
+        List<Edge> mstEdges = new ArrayList<>(Math.max(n - 1, 0));
         int totalCost = 0;
 
         // Handle empty graph and single vertex graph
-        if (graph.getVertexCount() <= 1) {
-            long executionTime = (System.nanoTime() - startTime) / 1_000_000;
-            return new MSTResult(mstEdges, totalCost, operations, executionTime);
+        if (n <= 1) {
+            long executionTimeNanos = System.nanoTime() - startTime;
+            return new MSTResult(mstEdges, totalCost, operations, executionTimeNanos / 1_000_000, executionTimeNanos);
         }
 
-        Set<String> visited = new HashSet<>();
-        PriorityQueue<Edge> minHeap = new PriorityQueue<>();
+        boolean[] inTree = workspace.visited(n);
+        int[] parent = workspace.parent(n);
+        IndexedMinHeap minHeap = workspace.heap(n);
+        minHeap.insert(0, 0);
+        probe.heapPush();
+        operations++;
 
-        List<String> vertices = graph.getVertices();
-        String startVertex = vertices.get(0);
-        visited.add(startVertex);
+        int visited = 0;
+        while (!minHeap.isEmpty()) {
+            int u = minHeap.pollMin();
+            probe.heapPop();
+            operations++; // heap extraction O(log V)
 
-        // Add initial edges - count only heap operations
-        for (Edge edge : graph.getEdges()) {
-            if (edge.getFrom().equals(startVertex) || edge.getTo().equals(startVertex)) {
-                minHeap.add(edge);
-                operations++; // heap insertion O(log E)
-            }
-        }
-
-        // Main loop - count only heap operations
-        while (!minHeap.isEmpty() && visited.size() < graph.getVertexCount()) {
-            Edge currentEdge = minHeap.poll();
-            operations++; // heap extraction O(log E)
+            int key = minHeap.keyOf(u);
+            inTree[u] = true;
+            visited++;
 
-            String nextVertex = null;
-            if (visited.contains(currentEdge.getFrom()) && !visited.contains(currentEdge.getTo())) {
-                nextVertex = currentEdge.getTo();
-            } else if (visited.contains(currentEdge.getTo()) && !visited.contains(currentEdge.getFrom())) {
-                nextVertex = currentEdge.getFrom();
+            if (parent[u] >= 0) {
+                mstEdges.add(graph.toEdge(parent[u], u, key));
+                totalCost += key;
             }
 
-            if (nextVertex != null) {
-                visited.add(nextVertex);
-                mstEdges.add(currentEdge);
-                totalCost += currentEdge.getWeight();
-
-                // Add edges from new vertex - count only heap operations
-                for (Edge edge : graph.getEdges()) {
-                    if ((edge.getFrom().equals(nextVertex) && !visited.contains(edge.getTo())) ||
-                            (edge.getTo().equals(nextVertex) && !visited.contains(edge.getFrom()))) {
-                        minHeap.add(edge);
-                        operations++; // heap insertion O(log E)
-                    }
+            // Relax edges of the new tree vertex - count only heap operations
+            for (int slot = graph.adjacencyStart(u), end = graph.adjacencyEnd(u); slot < end; slot++) {
+                int v = graph.neighborAt(slot);
+                probe.edgeScanned();
+                if (inTree[v]) {
+                    probe.edgeRejected();
+                    continue;
+                }
+
+                int weight = graph.weightAt(slot);
+                if (!minHeap.contains(v)) {
+                    parent[v] = u;
+                    minHeap.insert(v, weight);
+                    probe.heapPush();
+                    operations++; // heap insertion O(log V)
+                } else if (weight < minHeap.keyOf(v)) {
+                    parent[v] = u;
+                    minHeap.decreaseKey(v, weight);
+                    probe.heapDecreaseKey();
+                    operations++; // decrease-key O(log V)
+                } else {
+                    probe.edgeRejected();
                 }
             }
         }
 
-        long executionTime = (System.nanoTime() - startTime) / 1_000_000;
+        long executionTimeNanos = System.nanoTime() - startTime;
 
-        if (visited.size() != graph.getVertexCount()) {
+        if (visited != n) {
             System.out.println("Info: Graph is not connected. MST covers " +
-                    visited.size() + " out of " + graph.getVertexCount() + " vertices.");
+                    visited + " out of " + n + " vertices.");
         }
 
-        return new MSTResult(mstEdges, totalCost, operations, executionTime);
+        return new MSTResult(mstEdges, totalCost, operations, executionTimeNanos / 1_000_000, executionTimeNanos);
     }
-}
\ No newline at end of file
+}
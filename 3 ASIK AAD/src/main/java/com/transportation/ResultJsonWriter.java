@@ -0,0 +1,177 @@
+package com.transportation;
+
+import java.io.*;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Streams analysis results to a JSON file as they are produced.
+ * Each {@link AnalysisResult} is written through a buffered {@link JsonGenerator} and can be
+ * discarded right after, so memory stays constant regardless of batch size. Names are
+ * escaped by the generator. Output files ending in {@code .gz} are gzip-compressed.
+ */
+public class ResultJsonWriter implements Closeable {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final JsonGenerator generator;
+
+    public ResultJsonWriter(File file) throws IOException {
+        this(file, file.getName().endsWith(".gz"));
+    }
+
+    public ResultJsonWriter(File file, boolean gzip) throws IOException {
+        this(gzip
+                ? new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE), BUFFER_SIZE)
+                : new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+    }
+
+    /**
+     * Writes to a stream, such as an HTTP response body; the stream is closed with the writer
+     */
+    public ResultJsonWriter(OutputStream out) throws IOException {
+        generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        generator.useDefaultPrettyPrinter();
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("results");
+    }
+
+    /**
+     * Appends the result of one graph to the "results" array
+     * @param result the analysis outcome
+     */
+    public void write(AnalysisResult result) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("graph_id", result.getGraphId());
+
+        if (!result.isSuccessful()) {
+            generator.writeStringField("error", "Analysis failed");
+            generator.writeEndObject();
+            return;
+        }
+
+        generator.writeObjectFieldStart("input_stats");
+        generator.writeNumberField("vertices", result.getVertexCount());
+        generator.writeNumberField("edges", result.getEdgeCount());
+        generator.writeEndObject();
+
+        EnginePlanner.Plan plan = result.getPlan();
+        if (plan != null) {
+            writePlan(plan);
+            writeMSTResult(plan.getEngine(), result.getPlannedResult(), result.getPlannedProbe());
+        } else {
+            writeMSTResult("prim", result.getPrimResult(), result.getPrimProbe());
+            writeMSTResult("kruskal", result.getKruskalResult(), result.getKruskalProbe());
+        }
+        generator.writeEndObject();
+    }
+
+    private void writePlan(EnginePlanner.Plan plan) throws IOException {
+        generator.writeObjectFieldStart("plan");
+        generator.writeStringField("mode", "fastest");
+        generator.writeStringField("engine", plan.getEngine());
+        generator.writeStringField("reason", plan.getReason());
+        generator.writeNumberField("density", plan.getDensity());
+        generator.writeNumberField("weight_range", plan.getWeightRange());
+        generator.writeObjectFieldStart("predicted_ns");
+        for (Map.Entry<String, Double> prediction : plan.getPredictedNanos().entrySet()) {
+            generator.writeNumberField(prediction.getKey(), Math.round(prediction.getValue()));
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private void writeMSTResult(String name, MSTResult result, CountingProbe probe) throws IOException {
+        generator.writeObjectFieldStart(name);
+        generator.writeArrayFieldStart("mst_edges");
+        for (Edge edge : result.getMstEdges()) {
+            generator.writeStartObject();
+            generator.writeStringField("from", edge.getFrom());
+            generator.writeStringField("to", edge.getTo());
+            generator.writeNumberField("weight", edge.getWeight());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeNumberField("total_cost", result.getTotalCost());
+        generator.writeNumberField("operations_count", result.getOperationsCount());
+        generator.writeNumberField("execution_time_ms", result.getExecutionTime());
+        generator.writeNumberField("execution_time_ns", result.getExecutionTimeNanos());
+
+        TimingStats timing = result.getTimingStats();
+        if (timing != null) {
+            generator.writeObjectFieldStart("timing_ns");
+            generator.writeNumberField("warmup_runs", timing.getWarmupRuns());
+            generator.writeNumberField("samples", timing.getSamples());
+            generator.writeNumberField("min", timing.getMin());
+            generator.writeNumberField("median", timing.getMedian());
+            generator.writeNumberField("p90", timing.getP90());
+            generator.writeNumberField("p99", timing.getP99());
+            generator.writeNumberField("max", timing.getMax());
+            generator.writeNumberField("mean", timing.getMean());
+            generator.writeNumberField("std_dev", timing.getStdDev());
+            generator.writeEndObject();
+        }
+        if (probe != null) {
+            writeProbe(probe);
+        }
+        if (result instanceof ForestResult) {
+            writeComponents((ForestResult) result);
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeComponents(ForestResult forest) throws IOException {
+        generator.writeNumberField("component_count", forest.getComponentCount());
+        generator.writeArrayFieldStart("components");
+        for (ForestResult.Component component : forest.getComponents()) {
+            generator.writeStartObject();
+            generator.writeNumberField("component", component.getIndex());
+            generator.writeStringField("root", component.getRoot());
+            generator.writeNumberField("vertices", component.getVertexCount());
+            generator.writeNumberField("mst_edges", component.getResult().getMstEdges().size());
+            generator.writeNumberField("total_cost", component.getResult().getTotalCost());
+            generator.writeNumberField("operations_count", component.getResult().getOperationsCount());
+            generator.writeNumberField("execution_time_ns", component.getResult().getExecutionTimeNanos());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeProbe(CountingProbe probe) throws IOException {
+        generator.writeObjectFieldStart("probe");
+        generator.writeObjectFieldStart("sort");
+        generator.writeNumberField("estimated_operations", probe.getSortOperations());
+        generator.writeEndObject();
+        generator.writeObjectFieldStart("heap");
+        generator.writeNumberField("pushes", probe.getHeapPushes());
+        generator.writeNumberField("pops", probe.getHeapPops());
+        generator.writeNumberField("decrease_keys", probe.getHeapDecreaseKeys());
+        generator.writeEndObject();
+        generator.writeObjectFieldStart("union_find");
+        generator.writeNumberField("finds", probe.getFinds());
+        generator.writeNumberField("unions", probe.getUnions());
+        generator.writeNumberField("compression_steps", probe.getCompressionSteps());
+        generator.writeEndObject();
+        generator.writeObjectFieldStart("edges");
+        generator.writeNumberField("scanned", probe.getEdgesScanned());
+        generator.writeNumberField("rejected", probe.getEdgesRejected());
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    /**
+     * Closes the "results" array and the enclosing object, then flushes and closes the output
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } finally {
+            generator.close();
+        }
+    }
+}
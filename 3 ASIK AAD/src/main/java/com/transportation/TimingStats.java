@@ -0,0 +1,67 @@
+package com.transportation;
+
+import java.util.Arrays;
+
+/**
+ * Summary statistics of repeated execution-time samples, in nanoseconds.
+ * Percentiles use the nearest-rank method, so every reported value is an observed sample.
+ */
+public class TimingStats {
+    private final int warmupRuns;
+    private final int samples;
+    private final long min;
+    private final long median;
+    private final long p90;
+    private final long p99;
+    private final long max;
+    private final double mean;
+    private final double stdDev;
+
+    /**
+     * @param warmupRuns number of discarded runs preceding the samples
+     * @param samplesNanos measured execution times; must not be empty
+     */
+    public TimingStats(int warmupRuns, long[] samplesNanos) {
+        if (samplesNanos.length == 0) {
+            throw new IllegalArgumentException("At least one sample is required");
+        }
+        long[] sorted = samplesNanos.clone();
+        Arrays.sort(sorted);
+
+        double sum = 0;
+        for (long sample : sorted) {
+            sum += sample;
+        }
+        double average = sum / sorted.length;
+        double squares = 0;
+        for (long sample : sorted) {
+            squares += (sample - average) * (sample - average);
+        }
+
+        this.warmupRuns = warmupRuns;
+        this.samples = sorted.length;
+        this.min = sorted[0];
+        this.median = percentile(sorted, 0.50);
+        this.p90 = percentile(sorted, 0.90);
+        this.p99 = percentile(sorted, 0.99);
+        this.max = sorted[sorted.length - 1];
+        this.mean = average;
+        this.stdDev = Math.sqrt(squares / sorted.length);
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    // Getters
+    public int getWarmupRuns() { return warmupRuns; }
+    public int getSamples() { return samples; }
+    public long getMin() { return min; }
+    public long getMedian() { return median; }
+    public long getP90() { return p90; }
+    public long getP99() { return p99; }
+    public long getMax() { return max; }
+    public double getMean() { return mean; }
+    public double getStdDev() { return stdDev; }
+}
@@ -64,6 +64,553 @@ public class ComprehensiveMSTTest {
                 graph.getVertexCount(), graph.getEdgeCount());
     }
 
+    @Test
+    @DisplayName("Compact graph should preserve vertices, edges and adjacency")
+    void testCompactGraphConversion() {
+        Graph graph = createGraph(40, 0.3);
+        CompactGraph compact = graph.toCompactGraph();
+
+        assertEquals(graph.getVertexCount(), compact.getVertexCount());
+        assertEquals(graph.getEdgeCount(), compact.getEdgeCount());
+
+        int degreeSum = 0;
+        for (int v = 0; v < compact.getVertexCount(); v++) {
+            assertEquals(v, compact.getVertexId(compact.getVertexName(v)));
+            degreeSum += compact.getDegree(v);
+        }
+        assertEquals(2 * graph.getEdgeCount(), degreeSum, "Every edge should appear in both adjacencies");
+        assertEquals(-1, compact.getVertexId("missing"));
+
+        assertEquals(prim.findMST(graph).getTotalCost(), kruskal.findMST(compact).getTotalCost(),
+                "Engines should agree on the compact form");
+    }
+
+    @Test
+    @DisplayName("Indexed heap should honour decrease-key and hold each vertex once")
+    void testIndexedMinHeap() {
+        IndexedMinHeap heap = new IndexedMinHeap(5);
+        heap.insert(0, 50);
+        heap.insert(1, 40);
+        heap.insert(2, 30);
+        heap.insert(3, 20);
+        heap.decreaseKey(0, 10);
+
+        assertEquals(4, heap.size());
+        assertEquals(0, heap.pollMin());
+        assertEquals(3, heap.pollMin());
+        assertFalse(heap.contains(3));
+        assertThrows(IllegalStateException.class, () -> heap.insert(2, 5));
+        assertEquals(2, heap.pollMin());
+        assertEquals(1, heap.pollMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Disjoint set should handle long chains without recursion")
+    void testDisjointSetLongChain() {
+        int size = 1_000_000;
+        DisjointSet set = new DisjointSet(size);
+        for (int i = 1; i < size; i++) {
+            assertTrue(set.union(i - 1, i));
+        }
+
+        assertEquals(1, set.getComponentCount());
+        assertEquals(size, set.sizeOf(0));
+        assertTrue(set.connected(0, size - 1));
+        assertFalse(set.union(0, size - 1), "Already connected elements should not merge again");
+    }
+
+    @Test
+    @DisplayName("Counting sort and packed-key sort should yield the same edge order")
+    void testEdgeSortPaths() {
+        Random rand = new Random(7);
+        int[] narrow = new int[5000];
+        int[] wide = new int[5000];
+        for (int i = 0; i < narrow.length; i++) {
+            narrow[i] = 1 + rand.nextInt(100);
+            wide[i] = narrow[i] * 1_000_000; // same order, range too wide for buckets
+        }
+
+        int[] counted = EdgeSort.sortByWeight(narrow, narrow.length);
+        int[] packed = EdgeSort.sortByWeight(wide, wide.length);
+
+        assertArrayEquals(counted, packed);
+        for (int i = 1; i < counted.length; i++) {
+            assertTrue(narrow[counted[i - 1]] <= narrow[counted[i]], "Edges should be sorted by weight");
+        }
+    }
+
+    @Test
+    @DisplayName("Filter-Kruskal should match Kruskal on dense graphs")
+    void testFilterKruskalMatchesKruskal() {
+        FilterKruskalMST filterKruskal = new FilterKruskalMST();
+        for (int size : new int[]{1, 10, 100, 300}) {
+            Graph graph = size == 1 ? new Graph() : createGraph(size, 0.6);
+            MSTResult expected = kruskal.findMST(graph);
+            MSTResult actual = filterKruskal.findMST(graph);
+
+            assertEquals(expected.getTotalCost(), actual.getTotalCost());
+            assertEquals(new HashSet<>(expected.getMstEdges()), new HashSet<>(actual.getMstEdges()),
+                    "Filter-Kruskal should select the same tree for V=" + size);
+        }
+    }
+
+    @Test
+    @DisplayName("Parallel Boruvka should select the same tree as Kruskal")
+    void testBoruvkaMatchesKruskal() {
+        BoruvkaMST boruvka = new BoruvkaMST();
+        for (int size : new int[]{1, 10, 100, 300}) {
+            Graph graph = size == 1 ? new Graph() : createGraph(size, 0.6);
+            MSTResult expected = kruskal.findMST(graph);
+            MSTResult actual = boruvka.findMST(graph);
+
+            assertEquals(expected.getTotalCost(), actual.getTotalCost());
+            assertEquals(new HashSet<>(expected.getMstEdges()), new HashSet<>(actual.getMstEdges()),
+                    "Boruvka should select the same tree for V=" + size);
+        }
+    }
+
+    @Test
+    @DisplayName("External Kruskal should match in-memory Kruskal with a tiny buffer")
+    void testExternalKruskalMatchesKruskal() {
+        // 37-edge buffer forces dozens of runs through the k-way merge
+        ExternalKruskalMST external = new ExternalKruskalMST(37, null);
+        for (int size : new int[]{1, 10, 100}) {
+            Graph graph = size == 1 ? new Graph() : createGraph(size, 0.4);
+            MSTResult expected = kruskal.findMST(graph);
+            MSTResult actual = external.findMST(graph);
+
+            assertEquals(expected.getTotalCost(), actual.getTotalCost());
+            assertEquals(new HashSet<>(expected.getMstEdges()), new HashSet<>(actual.getMstEdges()),
+                    "External Kruskal should select the same tree for V=" + size);
+        }
+    }
+
+    @Test
+    @DisplayName("Counting probe should see consistent heap, union-find and edge events")
+    void testCountingProbe() {
+        Graph graph = createGraph(60, 0.3);
+        CompactGraph compact = graph.toCompactGraph();
+        int n = compact.getVertexCount();
+
+        CountingProbe primProbe = new CountingProbe();
+        MSTResult primResult = prim.findMST(compact, primProbe);
+        assertEquals(n, primProbe.getHeapPushes(), "Each vertex enters the heap once");
+        assertEquals(n, primProbe.getHeapPops());
+        assertEquals(2L * compact.getEdgeCount(), primProbe.getEdgesScanned());
+        assertEquals(primProbe.getEdgesScanned() - (n - 1) - primProbe.getHeapDecreaseKeys(),
+                primProbe.getEdgesRejected());
+
+        CountingProbe kruskalProbe = new CountingProbe();
+        MSTResult kruskalResult = kruskal.findMST(compact.toEdgeList(), kruskalProbe);
+        assertEquals(n - 1, kruskalProbe.getUnions());
+        assertEquals(2 * kruskalProbe.getEdgesScanned(), kruskalProbe.getFinds());
+        assertEquals(kruskalProbe.getEdgesScanned() - (n - 1), kruskalProbe.getEdgesRejected());
+        assertTrue(kruskalProbe.getSortOperations() > 0);
+
+        assertEquals(primResult.getTotalCost(), kruskalResult.getTotalCost());
+        assertEquals(0, kruskalProbe.reset().getFinds());
+    }
+
+    @Test
+    @DisplayName("Generated topologies should be connected, simple and reproducible")
+    void testGraphGeneratorTopologies() {
+        for (GraphGenerator.Topology topology : GraphGenerator.Topology.values()) {
+            double parameter = topology == GraphGenerator.Topology.UNIFORM ? 0.05
+                    : topology == GraphGenerator.Topology.GRID ? 0.2 : 4;
+            GraphInput input = GraphGenerator.generateGraph(1, topology, 900, parameter, 7L);
+            GraphInput again = GraphGenerator.generateGraph(1, topology, 900, parameter, 7L);
+            assertEquals(input.getEdges().size(), again.getEdges().size(), topology + " should be seeded");
+
+            Graph graph = new Graph();
+            Set<String> pairs = new HashSet<>();
+            input.getNodes().forEach(graph::addVertex);
+            for (EdgeInput edge : input.getEdges()) {
+                assertNotEquals(edge.getFrom(), edge.getTo(), topology + " should not create self-loops");
+                String a = edge.getFrom(), b = edge.getTo();
+                assertTrue(pairs.add(a.compareTo(b) < 0 ? a + "|" + b : b + "|" + a),
+                        topology + " should not create parallel edges");
+                graph.addEdge(a, b, edge.getWeight());
+            }
+            assertEquals(graph.getVertexCount() - 1, kruskal.findMST(graph).getMstEdges().size(),
+                    topology + " should be connected");
+        }
+
+        // Full density goes through selection sampling instead of rejection
+        GraphInput complete = GraphGenerator.generateGraph(1, 60, 1.0, 3L);
+        assertEquals(60 * 59 / 2, complete.getEdges().size());
+    }
+
+    @Test
+    @DisplayName("Graph builder should intern names, bulk load and freeze")
+    void testGraphBuilder() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            names.add("V" + i);
+        }
+        names.add("V0");
+
+        Graph graph = new Graph.Builder(names.size(), 2)
+                .autoAddVertices()
+                .addVertices(names)
+                .addEdges(Arrays.asList(new Edge(new String("V0"), "V1", 5), new Edge("V1", "V2", 3)))
+                .addEdge("V2", "Extra", 1)
+                .build();
+
+        assertEquals(50_001, graph.getVertexCount(), "Duplicates skipped, unknown endpoints added");
+        assertEquals(3, graph.getEdgeCount());
+        assertEquals(50_000, graph.getVertexId("Extra"));
+        assertSame(graph.getVertices().get(0), graph.getEdges().get(0).getFrom(), "Endpoints should be interned");
+        assertTrue(graph.isFrozen());
+        assertThrows(IllegalStateException.class, () -> graph.addEdge("V0", "V2", 1));
+        assertThrows(UnsupportedOperationException.class, () -> graph.getEdges().clear());
+        assertSame(graph.toCompactGraph(), graph.toCompactGraph());
+        assertEquals(kruskal.findMST(graph).getTotalCost(), prim.findMST(graph).getTotalCost());
+
+        // Without the builder option, endpoints must be vertices; unbuilt graphs hand out copies
+        Graph open = new Graph();
+        open.addVertex("A");
+        assertThrows(IllegalArgumentException.class, () -> open.addEdge("A", "B", 1));
+        assertEquals(0, open.getEdgeCount());
+        List<String> vertices = open.getVertices();
+        open.addVertex("B");
+        open.addEdge("A", "B", 1);
+        assertEquals(1, vertices.size(), "Copies should not reflect later additions");
+        vertices.add("C");
+        assertFalse(open.containsVertex("C"));
+    }
+
+    @Test
+    @DisplayName("Dense Prim kernels should match heap-based Prim")
+    void testDensePrimMatchesPrim() {
+        DensePrimMST scalar = new DensePrimMST(false);
+        DensePrimMST preferred = new DensePrimMST();
+        System.out.println("Dense Prim vector kernel: " + preferred.isVectorized());
+        assertFalse(scalar.isVectorized());
+
+        for (int size : new int[]{1, 2, 37, 150}) {
+            for (double density : new double[]{0.05, 0.3, 0.9}) {
+                Graph graph = size == 1 ? new Graph() : createGraph(size, density);
+                int expected = prim.findMST(graph).getTotalCost();
+                assertEquals(expected, scalar.findMST(graph).getTotalCost());
+                MSTResult result = preferred.findMST(graph);
+                assertEquals(expected, result.getTotalCost());
+                assertEquals(Math.max(0, size - 1), result.getMstEdges().size());
+            }
+        }
+
+        // Two components: the tree stops at the first one
+        Graph split = new Graph();
+        split.addVertices(Arrays.asList("A", "B", "C", "D"));
+        split.addEdge("A", "B", 2);
+        split.addEdge("C", "D", 1);
+        assertEquals(1, preferred.findMST(split).getMstEdges().size());
+
+        // The largest weight is a real edge, not the empty key
+        Graph heaviest = new Graph();
+        heaviest.addVertices(Arrays.asList("A", "B", "C"));
+        heaviest.addEdge("A", "B", Integer.MAX_VALUE);
+        heaviest.addEdge("B", "C", Integer.MIN_VALUE);
+        for (DensePrimMST engine : Arrays.asList(scalar, preferred)) {
+            MSTResult result = engine.findMST(heaviest);
+            assertEquals(2, result.getMstEdges().size());
+            assertEquals(Integer.MAX_VALUE + Integer.MIN_VALUE, result.getTotalCost());
+        }
+    }
+
+    @Test
+    @DisplayName("Spanning forest should cover every island with a per-component breakdown")
+    void testSpanningForest() {
+        // Three islands of different sizes, an isolated district and a self-loop
+        Graph graph = new Graph();
+        int[] sizes = {40, 7, 120};
+        int expectedCost = 0;
+        for (int island = 0; island < sizes.length; island++) {
+            Graph part = createGraph(sizes[island], 0.2);
+            for (String vertex : part.getVertices()) {
+                graph.addVertex(island + "-" + vertex);
+            }
+            for (Edge edge : part.getEdges()) {
+                graph.addEdge(island + "-" + edge.getFrom(), island + "-" + edge.getTo(), edge.getWeight());
+            }
+            expectedCost += kruskal.findMST(part).getTotalCost();
+        }
+        graph.addVertex("Lonely");
+        graph.addEdge("Lonely", "Lonely", 1);
+
+        assertEquals(expectedCost, kruskal.findMST(graph).getTotalCost());
+        assertTrue(prim.findMST(graph).getTotalCost() < expectedCost, "Prim alone covers one island");
+
+        MinimumSpanningForest primForest = new MinimumSpanningForest();
+        MinimumSpanningForest kruskalForest = new MinimumSpanningForest(
+                (component, probe) -> kruskal.findMST(component.toEdgeList(), probe));
+        for (MinimumSpanningForest forest : Arrays.asList(primForest, kruskalForest)) {
+            ForestResult result = forest.findForest(graph);
+            assertFalse(result.isConnected());
+            assertEquals(4, result.getComponentCount());
+            assertEquals(expectedCost, result.getTotalCost());
+            assertEquals(graph.getVertexCount() - 4, result.getMstEdges().size());
+
+            int vertices = 0;
+            int cost = 0;
+            for (ForestResult.Component component : result.getComponents()) {
+                vertices += component.getVertexCount();
+                cost += component.getResult().getTotalCost();
+                assertEquals(component.getVertexCount() - 1, component.getResult().getMstEdges().size());
+            }
+            assertEquals(graph.getVertexCount(), vertices);
+            assertEquals(expectedCost, cost);
+            assertEquals("Lonely", result.getComponents().get(3).getRoot());
+            assertEquals(1, result.getComponents().get(3).getVertexCount());
+        }
+
+        // Probed forests run on the calling thread and see every component but the isolated vertex
+        CountingProbe probe = new CountingProbe();
+        primForest.findForest(graph.toCompactGraph(), probe);
+        assertEquals(graph.getVertexCount() - 1, probe.getHeapPops());
+
+        ForestResult connected = primForest.findForest(createGraph(30, 0.3));
+        assertTrue(connected.isConnected());
+        assertEquals(29, connected.getMstEdges().size());
+    }
+
+    @Test
+    @DisplayName("Off-heap edges should feed the edge-list engines without Edge objects")
+    void testOffHeapEdgeList() {
+        Graph heap = createGraph(300, 0.1);
+        int expectedCost = kruskal.findMST(heap).getTotalCost();
+
+        // Tiny segments so the records span many buffers
+        OffHeapEdgeList segmented = new OffHeapEdgeList(heap.getVertices(), 6);
+        for (Edge edge : heap.getEdges()) {
+            segmented.add(heap.getVertexId(edge.getFrom()), heap.getVertexId(edge.getTo()), edge.getWeight());
+        }
+        assertEquals(heap.getEdgeCount(), segmented.getEdgeCount());
+        assertTrue(segmented.getOffHeapBytes() >= 12L * heap.getEdgeCount());
+
+        Graph offHeap = Graph.offHeap();
+        offHeap.addVertices(heap.getVertices());
+        offHeap.addEdges(heap.getEdges());
+        offHeap.addEdge("V0", "V0", 1);
+        offHeap.build();
+        assertTrue(offHeap.isOffHeap());
+        assertEquals(heap.getEdgeCount() + 1, offHeap.getEdgeCount());
+        assertEquals(heap.getEdges().get(7), offHeap.getEdges().get(7));
+        assertThrows(IllegalStateException.class, () -> offHeap.addEdge("V1", "V2", 3));
+
+        for (EdgeList edges : Arrays.asList(segmented, offHeap.toEdgeList())) {
+            // Both engines break ties by index in the same list, so they select the same tree
+            MSTResult expected = kruskal.findMST(edges);
+            assertEquals(expectedCost, expected.getTotalCost());
+            assertEquals(new HashSet<>(expected.getMstEdges()),
+                    new HashSet<>(new BoruvkaMST().findMST(edges).getMstEdges()));
+            assertEquals(new HashSet<>(expected.getMstEdges()),
+                    new HashSet<>(new BoruvkaMST().findMST(edges, false).getMstEdges()));
+            assertEquals(expectedCost, new ExternalKruskalMST(100, null).findMST(edges).getTotalCost());
+        }
+        assertEquals(expectedCost, new BoruvkaMST().findMST(offHeap).getTotalCost());
+        assertEquals(expectedCost, prim.findMST(offHeap).getTotalCost());
+    }
+
+    @Test
+    @DisplayName("Euclidean MST over the Delaunay graph should match the complete distance graph")
+    void testEuclideanMST() {
+        Random rand = new Random(11);
+        for (int shape = 0; shape < 4; shape++) {
+            int n = 200;
+            double[] x = new double[n];
+            double[] y = new double[n];
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                names.add("P" + i);
+                if (shape == 0) { // random map points
+                    x[i] = rand.nextDouble() * 1000;
+                    y[i] = rand.nextDouble() * 1000;
+                } else if (shape == 1) { // grid with repeated points, all cocircular
+                    x[i] = rand.nextInt(10) * 50;
+                    y[i] = rand.nextInt(10) * 50;
+                } else if (shape == 2) { // collinear
+                    x[i] = i * 3;
+                    y[i] = i * 4;
+                } else { // on a circle
+                    double angle = rand.nextInt(64) * Math.PI / 32;
+                    x[i] = 500 * Math.cos(angle);
+                    y[i] = 500 * Math.sin(angle);
+                }
+            }
+
+            CompactGraph.Builder complete = new CompactGraph.Builder(n, n * (n - 1) / 2);
+            names.forEach(complete::addVertex);
+            for (int u = 0; u < n; u++) {
+                for (int v = u + 1; v < n; v++) {
+                    complete.addEdge(u, v, EuclideanMST.distance(x[u] - x[v], y[u] - y[v]));
+                }
+            }
+            int expectedCost = kruskal.findMST(complete.build()).getTotalCost();
+
+            CompactGraph delaunay = EuclideanMST.toGraph(names, x, y);
+            assertTrue(delaunay.getEdgeCount() <= 3 * n - 6, "Delaunay graph has at most 3V - 6 edges");
+            MSTResult result = new EuclideanMST().findMST(names, x, y);
+            assertEquals(expectedCost, result.getTotalCost(), "Shape " + shape);
+            assertEquals(n - 1, result.getMstEdges().size());
+            assertEquals(expectedCost, prim.findMST(delaunay).getTotalCost());
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                () -> DelaunayTriangulation.edges(new double[]{0, Double.NaN}, new double[]{0, 1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> EuclideanMST.toGraph(Arrays.asList("A", "A"), new double[]{0, 1}, new double[]{0, 1}));
+    }
+
+    @Test
+    @DisplayName("Dynamic MST should match a full recomputation after every update")
+    void testDynamicMSTMatchesRecomputation() {
+        Graph initial = createGraph(30, 0.15);
+        DynamicMST dynamic = new DynamicMST(initial);
+        List<Edge> live = new ArrayList<>(initial.getEdges());
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < live.size(); i++) {
+            ids.add(i);
+        }
+
+        Random rand = new Random(7);
+        for (int step = 0; step < 300; step++) {
+            int op = rand.nextInt(3);
+            if (op == 0 || ids.isEmpty()) {
+                Edge edge = new Edge("V" + rand.nextInt(32), "V" + rand.nextInt(32), rand.nextInt(50) + 1);
+                ids.add(dynamic.addEdge(edge.getFrom(), edge.getTo(), edge.getWeight()));
+                live.add(edge);
+            } else if (op == 1) {
+                int index = rand.nextInt(ids.size());
+                dynamic.removeEdge(ids.remove(index));
+                live.remove(index);
+            } else {
+                int index = rand.nextInt(ids.size());
+                Edge old = live.get(index);
+                int weight = rand.nextInt(50) + 1;
+                dynamic.updateWeight(ids.get(index), weight);
+                live.set(index, new Edge(old.getFrom(), old.getTo(), weight));
+            }
+
+            Graph snapshot = new Graph();
+            for (Edge edge : live) {
+                snapshot.addVertex(edge.getFrom());
+                snapshot.addVertex(edge.getTo());
+                snapshot.addEdge(edge.getFrom(), edge.getTo(), edge.getWeight());
+            }
+            MSTResult expected = kruskal.findMST(snapshot);
+            assertEquals(expected.getTotalCost(), dynamic.getTotalCost(), "Cost mismatch at step " + step);
+            assertEquals(expected.getMstEdges().size(), dynamic.getTreeEdgeCount(), "Size mismatch at step " + step);
+
+            // Equal weights may be resolved differently, but the tree edges must stay acyclic
+            Map<String, Integer> index = new HashMap<>();
+            DisjointSet uf = new DisjointSet(dynamic.getVertexCount());
+            for (Edge edge : dynamic.getTreeEdges()) {
+                int u = index.computeIfAbsent(edge.getFrom(), k -> index.size());
+                int v = index.computeIfAbsent(edge.getTo(), k -> index.size());
+                assertTrue(uf.union(u, v), "Tree edges form a cycle at step " + step);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Dynamic MST should order negative and mixed-sign weights for replacements")
+    void testDynamicMSTMixedSignWeights() {
+        Graph pair = new Graph();
+        pair.addVertices(Arrays.asList("A", "B"));
+        pair.addEdge("A", "B", -1);
+        pair.addEdge("A", "B", 5);
+        DynamicMST parallel = new DynamicMST(pair);
+        parallel.removeEdge(0);
+        assertEquals(1, parallel.getTreeEdgeCount());
+        assertTrue(parallel.connected("A", "B"));
+        assertEquals(5, parallel.getTotalCost());
+
+        Random rand = new Random(11);
+        for (boolean allNegative : new boolean[]{true, false}) {
+            List<Edge> live = new ArrayList<>();
+            Graph initial = new Graph();
+            for (int i = 0; i < 20; i++) {
+                initial.addVertex("V" + i);
+            }
+            for (int i = 0; i < 60; i++) {
+                int weight = allNegative ? -1 - rand.nextInt(50) : rand.nextInt(101) - 50;
+                Edge edge = new Edge("V" + rand.nextInt(20), "V" + rand.nextInt(20), weight);
+                initial.addEdge(edge.getFrom(), edge.getTo(), edge.getWeight());
+                live.add(edge);
+            }
+            DynamicMST dynamic = new DynamicMST(initial);
+            List<Integer> ids = new ArrayList<>();
+            for (int i = 0; i < live.size(); i++) {
+                ids.add(i);
+            }
+
+            for (int step = 0; step < 40; step++) {
+                // Tree edges first: deletions and weight increases that need a replacement
+                int index = rand.nextInt(ids.size());
+                for (int i = 0; i < ids.size(); i++) {
+                    if (dynamic.isTreeEdge(ids.get(i))) {
+                        index = i;
+                        break;
+                    }
+                }
+                if (step % 2 == 0) {
+                    dynamic.removeEdge(ids.remove(index));
+                    live.remove(index);
+                } else {
+                    Edge old = live.get(index);
+                    int weight = old.getWeight() + 1 + rand.nextInt(60);
+                    dynamic.updateWeight(ids.get(index), weight);
+                    live.set(index, new Edge(old.getFrom(), old.getTo(), weight));
+                }
+
+                Graph snapshot = new Graph();
+                for (int i = 0; i < 20; i++) {
+                    snapshot.addVertex("V" + i);
+                }
+                for (Edge edge : live) {
+                    snapshot.addEdge(edge.getFrom(), edge.getTo(), edge.getWeight());
+                }
+                MSTResult expected = new KruskalMST().findMST(snapshot);
+                assertEquals(expected.getTotalCost(), dynamic.getTotalCost(), "Cost mismatch at step " + step);
+                assertEquals(expected.getMstEdges().size(), dynamic.getTreeEdgeCount(), "Size mismatch at step " + step);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Reused workspaces should give the same trees as fresh ones across graph sizes")
+    void testWorkspaceReuse() {
+        CompactGraph large = createGraph(300, 0.2).toCompactGraph();
+        CompactGraph small = createGraph(40, 0.3).toCompactGraph();
+        CompactGraph.Builder islands = new CompactGraph.Builder(4, 1);
+        for (int i = 0; i < 4; i++) {
+            islands.addVertex("I" + i);
+        }
+        islands.addEdge(0, 1, 5);
+        CompactGraph forest = islands.build();
+
+        DensePrimMST densePrim = new DensePrimMST();
+        FilterKruskalMST filterKruskal = new FilterKruskalMST();
+        BoruvkaMST boruvka = new BoruvkaMST();
+        try (MSTWorkspace workspace = MSTWorkspace.acquire()) {
+            for (CompactGraph graph : List.of(large, small, forest, large, small)) {
+                assertSameTree(prim.findMST(graph), prim.findMST(graph, MSTProbe.NOOP, workspace));
+                assertSameTree(kruskal.findMST(graph), kruskal.findMST(graph.toEdgeList(workspace), MSTProbe.NOOP, workspace));
+                assertSameTree(densePrim.findMST(graph), densePrim.findMST(graph, workspace));
+                assertSameTree(filterKruskal.findMST(graph), filterKruskal.findMST(graph, workspace));
+                assertSameTree(boruvka.findMST(graph), boruvka.findMST(graph, workspace));
+                assertSameTree(boruvka.findMST(graph.toEdgeList()), boruvka.findMST(graph.toEdgeList(), true, workspace));
+            }
+            assertTrue(workspace.getRetainedBytes() > 0);
+        }
+    }
+
+    private static void assertSameTree(MSTResult expected, MSTResult actual) {
+        assertEquals(expected.getTotalCost(), actual.getTotalCost());
+        assertEquals(new HashSet<>(expected.getMstEdges()), new HashSet<>(actual.getMstEdges()));
+    }
+
     private Graph createGraph(int size, double density) {
         Graph graph = new Graph();
         Random rand = new Random(42);
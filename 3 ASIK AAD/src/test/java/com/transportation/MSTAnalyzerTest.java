@@ -0,0 +1,503 @@
+package com.transportation;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * End-to-end tests for the analysis pipeline
+ */
+public class MSTAnalyzerTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Concurrent batch mode should match sequential results in graph-id order")
+    void testConcurrentBatchMatchesSequential() throws Exception {
+        File input = writeInput(8);
+        File sequentialOutput = tempDir.resolve("sequential.json").toFile();
+        File concurrentOutput = tempDir.resolve("concurrent.json").toFile();
+
+        new MSTAnalyzer().analyzeAndSaveResults(input.getPath(), sequentialOutput.getPath());
+
+        ExecutorService executor = BatchExecutors.platformThreads(4);
+        try {
+            new MSTAnalyzer(executor).analyzeAndSaveResults(input.getPath(), concurrentOutput.getPath());
+        } finally {
+            executor.shutdown();
+        }
+
+        JsonNode sequential = objectMapper.readTree(sequentialOutput).get("results");
+        JsonNode concurrent = objectMapper.readTree(concurrentOutput).get("results");
+
+        assertEquals(8, concurrent.size());
+        for (int i = 0; i < concurrent.size(); i++) {
+            assertEquals(i + 1, concurrent.get(i).get("graph_id").asInt(), "Results should be in graph-id order");
+            assertEquals(sequential.get(i).get("prim").get("total_cost"), concurrent.get(i).get("prim").get("total_cost"));
+            assertEquals(sequential.get(i).get("kruskal").get("total_cost"), concurrent.get(i).get("kruskal").get("total_cost"));
+        }
+    }
+
+    @Test
+    @DisplayName("Streaming reader should return one graph at a time and skip unknown fields")
+    void testGraphStreamReader() throws Exception {
+        String json = "{\"version\": {\"major\": 1}, \"graphs\": ["
+                + "{\"edges\": [{\"weight\": 4, \"to\": \"B\", \"from\": \"A\"}], \"id\": 7,"
+                + " \"nodes\": [\"A\", \"B\", \"C\"], \"comment\": [1, 2]},"
+                + "{\"id\": 8, \"nodes\": [], \"edges\": []}]}";
+
+        try (GraphStreamReader reader = new GraphStreamReader(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))) {
+            CompactGraph first = reader.next();
+            assertEquals(7, reader.getLastGraphId());
+            assertEquals(3, first.getVertexCount());
+            assertEquals(1, first.getEdgeCount());
+            assertEquals(4, first.weightAt(first.adjacencyStart(first.getVertexId("A"))));
+
+            CompactGraph second = reader.next();
+            assertEquals(8, reader.getLastGraphId());
+            assertEquals(0, second.getVertexCount());
+
+            assertNull(reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Result writer should escape names and support gzip output")
+    void testGzipOutputWithEscapedNames() throws Exception {
+        List<String> nodes = Arrays.asList("Main \"Square\"", "Old\\Town", "Port");
+        List<EdgeInput> edges = Arrays.asList(
+                new EdgeInput(nodes.get(0), nodes.get(1), 3),
+                new EdgeInput(nodes.get(1), nodes.get(2), 5),
+                new EdgeInput(nodes.get(0), nodes.get(2), 9));
+        File input = tempDir.resolve("quoted.json").toFile();
+        objectMapper.writeValue(input, new InputData(Collections.singletonList(new GraphInput(1, nodes, edges))));
+
+        File output = tempDir.resolve("output.json.gz").toFile();
+        new MSTAnalyzer().analyzeAndSaveResults(input.getPath(), output.getPath());
+
+        JsonNode results;
+        try (GZIPInputStream in = new GZIPInputStream(new FileInputStream(output))) {
+            results = objectMapper.readTree(in).get("results");
+        }
+        JsonNode prim = results.get(0).get("prim");
+        assertEquals(8, prim.get("total_cost").asInt());
+        assertEquals("Main \"Square\"", prim.get("mst_edges").get(0).get("from").asText());
+    }
+
+    @Test
+    @DisplayName("Binary graph files should round-trip and analyze like the JSON input")
+    void testBinaryGraphFormat() throws Exception {
+        File input = writeInput(5);
+        File binary = tempDir.resolve("input.bin").toFile();
+        assertEquals(5, BinaryGraphFormat.convertJson(input, binary));
+        assertTrue(BinaryGraphReader.isBinaryGraphFile(binary));
+        assertFalse(BinaryGraphReader.isBinaryGraphFile(input));
+
+        InputData original = objectMapper.readValue(input, InputData.class);
+        try (BinaryGraphReader reader = new BinaryGraphReader(binary)) {
+            assertEquals(5, reader.getGraphCount());
+            for (GraphInput graphInput : original.getGraphs()) {
+                MappedGraph mapped = reader.next();
+                assertEquals(graphInput.getId(), mapped.getId());
+                assertEquals(graphInput.getNodes().size(), mapped.getVertexCount());
+                assertEquals(graphInput.getEdges().size(), mapped.getEdgeCount());
+
+                EdgeInput last = graphInput.getEdges().get(graphInput.getEdges().size() - 1);
+                long e = mapped.getEdgeCount() - 1;
+                assertEquals(last.getFrom(), mapped.getVertexName(mapped.from(e)));
+                assertEquals(last.getTo(), mapped.getVertexName(mapped.to(e)));
+                assertEquals(last.getWeight(), mapped.weight(e));
+            }
+            assertNull(reader.next());
+        }
+
+        File jsonOutput = tempDir.resolve("json-output.json").toFile();
+        File binaryOutput = tempDir.resolve("binary-output.json").toFile();
+        new MSTAnalyzer().analyzeAndSaveResults(input.getPath(), jsonOutput.getPath());
+        new MSTAnalyzer().analyzeAndSaveResults(binary.getPath(), binaryOutput.getPath());
+
+        JsonNode fromJson = objectMapper.readTree(jsonOutput).get("results");
+        JsonNode fromBinary = objectMapper.readTree(binaryOutput).get("results");
+        for (int i = 0; i < fromJson.size(); i++) {
+            assertEquals(fromJson.get(i).get("input_stats"), fromBinary.get(i).get("input_stats"));
+            assertEquals(fromJson.get(i).get("kruskal").get("total_cost"), fromBinary.get(i).get("kruskal").get("total_cost"));
+            assertEquals(fromJson.get(i).get("prim").get("total_cost"), fromBinary.get(i).get("prim").get("total_cost"));
+        }
+    }
+
+    @Test
+    @DisplayName("Edge lists above the in-memory limit should be solved by external Kruskal")
+    void testExternalKruskalFallback() throws Exception {
+        File input = writeInput(5);
+        File binary = tempDir.resolve("input.bin").toFile();
+        BinaryGraphFormat.convertJson(input, binary);
+
+        File inMemoryOutput = tempDir.resolve("in-memory-output.json").toFile();
+        File externalOutput = tempDir.resolve("external-output.json").toFile();
+        new MSTAnalyzer().analyzeAndSaveResults(binary.getPath(), inMemoryOutput.getPath());
+        MSTAnalyzer external = new MSTAnalyzer();
+        external.setExternalKruskal(new ExternalKruskalMST(2, tempDir.toFile()), 0);
+        external.analyzeAndSaveResults(binary.getPath(), externalOutput.getPath());
+
+        JsonNode inMemory = objectMapper.readTree(inMemoryOutput).get("results");
+        JsonNode outOfCore = objectMapper.readTree(externalOutput).get("results");
+        for (int i = 0; i < inMemory.size(); i++) {
+            assertEquals(inMemory.get(i).get("kruskal").get("total_cost"), outOfCore.get(i).get("kruskal").get("total_cost"));
+            assertEquals(inMemory.get(i).get("kruskal").get("mst_edges").size(),
+                    outOfCore.get(i).get("kruskal").get("mst_edges").size());
+        }
+        try (Stream<Path> left = Files.list(tempDir)) {
+            assertEquals(0, left.filter(p -> p.getFileName().toString().startsWith("mst-run-")).count());
+        }
+    }
+
+    @Test
+    @DisplayName("Result cache should key by graph content and serve repeated runs from disk")
+    void testResultCache() throws Exception {
+        Graph graph = new Graph();
+        Graph reordered = new Graph();
+        for (String name : Arrays.asList("A", "B", "C")) {
+            graph.addVertex(name);
+        }
+        for (String name : Arrays.asList("C", "A", "B")) {
+            reordered.addVertex(name);
+        }
+        graph.addEdge("A", "B", 3);
+        graph.addEdge("B", "C", 4);
+        reordered.addEdge("C", "B", 4);
+        reordered.addEdge("A", "B", 3);
+        String key = MSTResultCache.fingerprint(graph.toCompactGraph().toEdgeList());
+        assertEquals(key, MSTResultCache.fingerprint(reordered.toCompactGraph().toEdgeList()),
+                "Vertex order, edge order and direction should not change the key");
+        reordered.addEdge("A", "C", 4);
+        assertNotEquals(key, MSTResultCache.fingerprint(reordered.toCompactGraph().toEdgeList()));
+        reordered.addEdge("B", "B", -40);
+        CompactGraph compact = reordered.toCompactGraph();
+        assertEquals(MSTResultCache.fingerprint(compact.toEdgeList()), MSTResultCache.fingerprint(compact),
+                "The CSR key should match the edge-list key");
+        assertEquals(EnginePlanner.weightRange(compact.toEdgeList()), EnginePlanner.weightRange(compact));
+        assertEquals(0, EnginePlanner.weightRange(new Graph().toCompactGraph()));
+
+        File input = writeInput(6);
+        File cacheDir = tempDir.resolve("cache").toFile();
+        File first = tempDir.resolve("first.json").toFile();
+        File second = tempDir.resolve("second.json").toFile();
+
+        MSTAnalyzer analyzer = new MSTAnalyzer();
+        analyzer.setResultCache(new MSTResultCache(cacheDir, 4));
+        analyzer.analyzeAndSaveResults(input.getPath(), first.getPath());
+
+        // A fresh cache over the same directory models the next nightly run
+        MSTResultCache reloaded = new MSTResultCache(cacheDir, 4);
+        analyzer.setResultCache(reloaded);
+        analyzer.analyzeAndSaveResults(input.getPath(), second.getPath());
+
+        assertEquals(12, reloaded.getHitCount());
+        assertEquals(0, reloaded.getMissCount());
+        assertEquals(4, reloaded.getMemorySize(), "Memory should be bounded by the LRU size");
+        assertEquals(objectMapper.readTree(first), objectMapper.readTree(second));
+
+        // Same content in another vertex order: Prim starts in the other component
+        List<EdgeInput> islands = Arrays.asList(new EdgeInput("A", "B", 1), new EdgeInput("C", "D", 2));
+        File disconnected = tempDir.resolve("disconnected.json").toFile();
+        objectMapper.writeValue(disconnected, new InputData(Arrays.asList(
+                new GraphInput(1, Arrays.asList("A", "B", "C", "D"), islands),
+                new GraphInput(2, Arrays.asList("C", "D", "A", "B"), islands))));
+        File uncached = tempDir.resolve("uncached.json").toFile();
+        File cached = tempDir.resolve("cached.json").toFile();
+        new MSTAnalyzer().analyzeAndSaveResults(disconnected.getPath(), uncached.getPath());
+        MSTResultCache islandCache = new MSTResultCache(null, 4);
+        analyzer.setResultCache(islandCache);
+        analyzer.analyzeAndSaveResults(disconnected.getPath(), cached.getPath());
+        assertEquals(0, islandCache.getMemorySize(), "Forests of disconnected graphs should not be cached");
+        JsonNode expected = objectMapper.readTree(uncached).get("results");
+        JsonNode actual = objectMapper.readTree(cached).get("results");
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).get("prim").get("mst_edges"), actual.get(i).get("prim").get("mst_edges"));
+        }
+    }
+
+    @Test
+    @DisplayName("Measurement mode should report nanosecond percentiles per graph and engine")
+    void testMeasurementMode() throws Exception {
+        long[] samples = new long[100];
+        for (int i = 0; i < samples.length; i++) {
+            samples[samples.length - 1 - i] = i + 1;
+        }
+        TimingStats stats = new TimingStats(3, samples);
+        assertEquals(1, stats.getMin());
+        assertEquals(50, stats.getMedian());
+        assertEquals(90, stats.getP90());
+        assertEquals(99, stats.getP99());
+        assertEquals(100, stats.getMax());
+        assertEquals(50.5, stats.getMean(), 1e-9);
+
+        assertArrayEquals(new int[]{2, 5}, Main.parseRunCounts("2,5"));
+        assertArrayEquals(new int[]{0, 0}, Main.parseRunCounts("0,0"));
+        for (String invalid : Arrays.asList("5", "a,b", "-1,3", "2,-5", "1,2,3", "1,", "")) {
+            assertNull(Main.parseRunCounts(invalid), "--measure=" + invalid + " should be rejected");
+        }
+        assertEquals(4, Main.parseInt("4", 1, Integer.MAX_VALUE));
+        for (String invalid : Arrays.asList("0", "-2", "four", "", "99999999999")) {
+            assertNull(Main.parseInt(invalid, 1, Integer.MAX_VALUE), "--threads=" + invalid + " should be rejected");
+        }
+        assertEquals(0, Main.parseInt("0", 0, 65535));
+        for (String invalid : Arrays.asList("-1", "65536", "http")) {
+            assertNull(Main.parseInt(invalid, 0, 65535), "--serve=" + invalid + " should be rejected");
+        }
+
+        File input = writeInput(3);
+        File output = tempDir.resolve("measured.json").toFile();
+        MSTAnalyzer analyzer = new MSTAnalyzer();
+        analyzer.setMeasurement(2, 5);
+        analyzer.analyzeAndSaveResults(input.getPath(), output.getPath());
+
+        for (JsonNode result : objectMapper.readTree(output).get("results")) {
+            for (String engine : Arrays.asList("prim", "kruskal")) {
+                JsonNode timing = result.get(engine).get("timing_ns");
+                assertEquals(2, timing.get("warmup_runs").asInt());
+                assertEquals(5, timing.get("samples").asInt());
+                assertTrue(timing.get("min").asLong() > 0, "Samples should have nanosecond resolution");
+                assertTrue(timing.get("min").asLong() <= timing.get("median").asLong());
+                assertTrue(timing.get("median").asLong() <= timing.get("p90").asLong());
+                assertTrue(timing.get("p90").asLong() <= timing.get("p99").asLong());
+                assertTrue(timing.get("p99").asLong() <= timing.get("max").asLong());
+                assertTrue(result.get(engine).get("execution_time_ns").asLong() > 0);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Probing should add per-phase event counts to the output")
+    void testProbeOutput() throws Exception {
+        File input = writeInput(2);
+        File output = tempDir.resolve("probed.json").toFile();
+        MSTAnalyzer analyzer = new MSTAnalyzer();
+        analyzer.setProbing(true);
+        analyzer.analyzeAndSaveResults(input.getPath(), output.getPath());
+
+        for (JsonNode result : objectMapper.readTree(output).get("results")) {
+            int vertices = result.get("input_stats").get("vertices").asInt();
+            JsonNode prim = result.get("prim").get("probe");
+            JsonNode kruskal = result.get("kruskal").get("probe");
+            assertEquals(vertices, prim.get("heap").get("pops").asInt());
+            assertEquals(vertices - 1, kruskal.get("union_find").get("unions").asInt());
+            assertTrue(kruskal.get("edges").get("scanned").asLong() >= vertices - 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Fastest mode should run the engine chosen by the cost model and record why")
+    void testFastestMode() throws Exception {
+        // Kruskal measured ten times faster than Prim on every shape
+        List<EnginePlanner.Sample> samples = new ArrayList<>();
+        for (int vertices : new int[]{10, 100, 1000}) {
+            for (long edges : new long[]{vertices, 5L * vertices, 20L * vertices}) {
+                samples.add(new EnginePlanner.Sample("prim", vertices, edges, 100, 1000 * edges));
+                samples.add(new EnginePlanner.Sample("kruskal", vertices, edges, 100, 100 * edges));
+            }
+        }
+        EnginePlanner planner = new EnginePlanner(samples);
+        assertEquals(new HashSet<>(Arrays.asList("prim", "kruskal")), planner.getEngines());
+        assertEquals(100 * 3000.0, planner.predictNanos("kruskal", 500, 3000, 100), 3000.0);
+        assertEquals("kruskal", planner.plan(500, 3000, 100).getEngine());
+        EnginePlanner heuristic = EnginePlanner.heuristic();
+        assertTrue(heuristic.getEngines().containsAll(EnginePlanner.ENGINES),
+                "Default heuristics should cover every engine");
+        assertEquals("dense-prim", heuristic.plan(2000, 2000L * 1999 / 2, 100).getEngine());
+        assertNotEquals("dense-prim", heuristic.plan(10_000, 30_000, 100).getEngine());
+
+        File input = writeInput(3);
+        File compared = tempDir.resolve("compared.json").toFile();
+        File fastest = tempDir.resolve("fastest.json").toFile();
+        new MSTAnalyzer().analyzeAndSaveResults(input.getPath(), compared.getPath());
+        MSTAnalyzer analyzer = new MSTAnalyzer();
+        analyzer.setPlanner(planner);
+        analyzer.analyzeAndSaveResults(input.getPath(), fastest.getPath());
+
+        JsonNode expected = objectMapper.readTree(compared).get("results");
+        JsonNode results = objectMapper.readTree(fastest).get("results");
+        for (int i = 0; i < results.size(); i++) {
+            JsonNode plan = results.get(i).get("plan");
+            assertEquals("fastest", plan.get("mode").asText());
+            assertEquals("kruskal", plan.get("engine").asText());
+            assertTrue(plan.get("reason").asText().contains("prim"), "Reason should name the runner-up");
+            assertTrue(plan.get("predicted_ns").has("prim"));
+            assertNull(results.get(i).get("prim"), "Only the chosen engine should run");
+            assertEquals(expected.get(i).get("kruskal").get("total_cost"), results.get(i).get("kruskal").get("total_cost"));
+        }
+    }
+
+    @Test
+    @DisplayName("Forest mode should give both engines the same forest on disconnected networks")
+    void testSpanningForestOutput() throws Exception {
+        List<EdgeInput> edges = Arrays.asList(
+                new EdgeInput("A", "B", 4), new EdgeInput("B", "C", 2), new EdgeInput("A", "C", 3),
+                new EdgeInput("D", "E", 7));
+        File input = tempDir.resolve("islands.json").toFile();
+        objectMapper.writeValue(input, new InputData(Collections.singletonList(
+                new GraphInput(1, Arrays.asList("A", "B", "C", "D", "E", "F"), edges))));
+        File output = tempDir.resolve("forest.json").toFile();
+
+        MSTAnalyzer analyzer = new MSTAnalyzer();
+        analyzer.setSpanningForest(true);
+        analyzer.analyzeAndSaveResults(input.getPath(), output.getPath());
+
+        JsonNode result = objectMapper.readTree(output).get("results").get(0);
+        for (String engine : Arrays.asList("prim", "kruskal")) {
+            JsonNode forest = result.get(engine);
+            assertEquals(12, forest.get("total_cost").asInt());
+            assertEquals(3, forest.get("mst_edges").size());
+            assertEquals(3, forest.get("component_count").asInt());
+            JsonNode components = forest.get("components");
+            assertEquals("A", components.get(0).get("root").asText());
+            assertEquals(3, components.get(0).get("vertices").asInt());
+            assertEquals(5, components.get(0).get("total_cost").asInt());
+            assertEquals(7, components.get(1).get("total_cost").asInt());
+            assertEquals(0, components.get(2).get("mst_edges").asInt());
+        }
+    }
+
+    @Test
+    @DisplayName("Geometric inputs should be analyzed over their Delaunay graph")
+    void testEuclideanInput() throws Exception {
+        String json = "{\"graphs\": [{\"id\": 1, \"nodes\": [\"A\", \"B\", \"C\", \"D\"],"
+                + " \"coordinates\": [[0, 0], [30, 40], [30, 0], [0.4, 0.3]]}]}";
+        try (GraphStreamReader reader = new GraphStreamReader(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))) {
+            CompactGraph graph = reader.next();
+            assertEquals(4, graph.getVertexCount());
+            assertTrue(graph.getEdgeCount() <= 6);
+            assertEquals(1 + 30 + 40, new KruskalMST().findMST(graph).getTotalCost());
+        }
+
+        String both = "{\"graphs\": [{\"nodes\": [\"A\", \"B\"], \"coordinates\": [[0, 0], [1, 1]],"
+                + " \"edges\": [{\"from\": \"A\", \"to\": \"B\", \"weight\": 1}]}]}";
+        try (GraphStreamReader reader = new GraphStreamReader(
+                new ByteArrayInputStream(both.getBytes(StandardCharsets.UTF_8)))) {
+            assertThrows(IOException.class, reader::next);
+        }
+
+        GraphInput points = GraphGenerator.generatePoints(1, 300, 7L);
+        File input = tempDir.resolve("points.json").toFile();
+        objectMapper.writeValue(input, new InputData(Collections.singletonList(points)));
+        int expectedCost = new EuclideanMST().findMST(
+                objectMapper.readValue(input, InputData.class).getGraphs().get(0)).getTotalCost();
+
+        File binary = tempDir.resolve("points.bin").toFile();
+        BinaryGraphFormat.convertJson(input, binary);
+        for (File source : Arrays.asList(input, binary)) {
+            File output = tempDir.resolve("points-output.json").toFile();
+            new MSTAnalyzer().analyzeAndSaveResults(source.getPath(), output.getPath());
+            JsonNode result = objectMapper.readTree(output).get("results").get(0);
+            assertTrue(result.get("input_stats").get("edges").asInt() <= 3 * 300 - 6);
+            assertEquals(expectedCost, result.get("prim").get("total_cost").asInt());
+            assertEquals(expectedCost, result.get("kruskal").get("total_cost").asInt());
+        }
+    }
+
+    @Test
+    @DisplayName("Server mode should answer JSON and binary requests and report latency")
+    void testServerMode() throws Exception {
+        File input = writeInput(3);
+        File binary = tempDir.resolve("server.bin").toFile();
+        BinaryGraphFormat.convertJson(input, binary);
+        File expectedOutput = tempDir.resolve("expected.json").toFile();
+        new MSTAnalyzer().analyzeAndSaveResults(input.getPath(), expectedOutput.getPath());
+        JsonNode expected = objectMapper.readTree(expectedOutput).get("results");
+
+        try (MSTServer server = new MSTServer(new MSTAnalyzer(), 0)) {
+            server.start();
+            URI mst = URI.create("http://localhost:" + server.getPort() + "/mst");
+            HttpClient client = HttpClient.newHttpClient();
+
+            for (HttpRequest.BodyPublisher body : Arrays.asList(
+                    HttpRequest.BodyPublishers.ofFile(input.toPath()),
+                    HttpRequest.BodyPublishers.ofFile(binary.toPath()))) {
+                HttpResponse<String> response = client.send(HttpRequest.newBuilder(mst).POST(body).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                assertEquals(200, response.statusCode());
+                assertTrue(response.headers().firstValue("Server-Timing").orElse("").startsWith("mst;dur="));
+                JsonNode results = objectMapper.readTree(response.body()).get("results");
+                assertEquals(3, results.size());
+                for (int i = 0; i < results.size(); i++) {
+                    assertEquals(i + 1, results.get(i).get("graph_id").asInt());
+                    assertEquals(expected.get(i).get("prim").get("total_cost"), results.get(i).get("prim").get("total_cost"));
+                    assertEquals(expected.get(i).get("kruskal").get("total_cost"), results.get(i).get("kruskal").get("total_cost"));
+                }
+            }
+
+            // A bare GraphInput object is a one-graph request
+            String single = "{\"id\": 9, \"nodes\": [\"A\", \"B\", \"C\"], \"edges\": ["
+                    + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 2}, {\"from\": \"B\", \"to\": \"C\", \"weight\": 3},"
+                    + " {\"from\": \"A\", \"to\": \"C\", \"weight\": 4}]}";
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(mst)
+                    .POST(HttpRequest.BodyPublishers.ofString(single)).build(), HttpResponse.BodyHandlers.ofString());
+            JsonNode result = objectMapper.readTree(response.body()).get("results").get(0);
+            assertEquals(9, result.get("graph_id").asInt());
+            assertEquals(5, result.get("prim").get("total_cost").asInt());
+
+            response = client.send(HttpRequest.newBuilder(mst)
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"graphs\": [")).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, response.statusCode());
+            assertTrue(objectMapper.readTree(response.body()).has("error"));
+            response = client.send(HttpRequest.newBuilder(mst).GET().build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(405, response.statusCode());
+
+            response = client.send(HttpRequest.newBuilder(mst.resolve("/stats")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            JsonNode stats = objectMapper.readTree(response.body());
+            assertEquals(3, stats.get("requests").asInt());
+            assertEquals(7, stats.get("graphs").asInt());
+            assertEquals(1, stats.get("failed_requests").asInt());
+            assertEquals(3, stats.get("latency_ns").get("samples").asInt());
+            assertTrue(stats.get("latency_ns").get("min").asLong() > 0);
+        }
+    }
+
+    private File writeInput(int graphCount) throws Exception {
+        Random rand = new Random(42);
+        List<GraphInput> graphs = new ArrayList<>();
+        for (int id = 1; id <= graphCount; id++) {
+            // Varying sizes so that largest-first scheduling reorders the work
+            int size = 5 + rand.nextInt(60);
+            List<String> nodes = new ArrayList<>();
+            List<EdgeInput> edges = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                nodes.add("N" + i);
+                if (i > 0) {
+                    edges.add(new EdgeInput("N" + rand.nextInt(i), "N" + i, 1 + rand.nextInt(100)));
+                }
+            }
+            for (int i = 0; i < size * 3; i++) {
+                edges.add(new EdgeInput("N" + rand.nextInt(size), "N" + rand.nextInt(size), 1 + rand.nextInt(100)));
+            }
+            graphs.add(new GraphInput(id, nodes, edges));
+        }
+
+        File input = tempDir.resolve("input.json").toFile();
+        objectMapper.writeValue(input, new InputData(graphs));
+        return input;
+    }
+}
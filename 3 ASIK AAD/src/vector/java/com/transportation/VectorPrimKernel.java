@@ -0,0 +1,41 @@
+package com.transportation;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernel for {@link DensePrimMST} built on the incubating Vector API.
+ * Compiled only by the {@code vector} Maven profile and loaded reflectively, so the main
+ * build keeps working on JDKs and runtimes without {@code jdk.incubator.vector}.
+ */
+final class VectorPrimKernel implements DensePrimMST.Kernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public int argMin(int[] key, int n) {
+        int bound = SPECIES.loopBound(n);
+        IntVector lanes = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+        int v = 0;
+        for (; v < bound; v += SPECIES.length()) {
+            lanes = lanes.min(IntVector.fromArray(SPECIES, key, v));
+        }
+        int min = lanes.reduceLanes(VectorOperators.MIN);
+        for (; v < n; v++) {
+            min = Math.min(min, key[v]);
+        }
+
+        // Second pass locates the first lane holding the minimum
+        for (v = 0; v < bound; v += SPECIES.length()) {
+            VectorMask<Integer> hit = IntVector.fromArray(SPECIES, key, v).eq(min);
+            if (hit.anyTrue()) {
+                return v + hit.firstTrue();
+            }
+        }
+        for (; v < n; v++) {
+            if (key[v] == min) return v;
+        }
+        return 0;
+    }
+}